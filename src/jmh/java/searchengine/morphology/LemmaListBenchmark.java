@@ -0,0 +1,51 @@
+package searchengine.morphology;
+
+import org.openjdk.jmh.annotations.*;
+import searchengine.config.MorphologySettings;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LemmaListBenchmark {
+    private static final String REGEX = "[\\p{Punct}\\d@©◄»«—№…]";
+
+    @Param({"1000", "20000"})
+    private int wordCount;
+
+    private MorphologyAnalyzer morphologyAnalyzer;
+    private String content;
+
+    @Setup
+    public void setup() throws IOException {
+        morphologyAnalyzer = new MorphologyAnalyzer(new MorphologySettings());
+        content = RussianCorpus.generateText(wordCount);
+        morphologyAnalyzer.getLemmaList(content);
+    }
+
+    @Benchmark
+    public HashMap<String, Integer> regexSplit() {
+        String text = content.toLowerCase(Locale.ROOT).replaceAll(REGEX, " ");
+        HashMap<String, Integer> lemmaList = new HashMap<>();
+        for (String element : text.toLowerCase(Locale.ROOT).split("\\s+")) {
+            List<String> wordList = morphologyAnalyzer.getLemma(element);
+            for (String word : wordList) {
+                lemmaList.merge(word, 1, Integer::sum);
+            }
+        }
+        return lemmaList;
+    }
+
+    @Benchmark
+    public HashMap<String, Integer> tokenizer() {
+        return morphologyAnalyzer.getLemmaList(content);
+    }
+}
@@ -0,0 +1,40 @@
+package searchengine.morphology;
+
+import org.openjdk.jmh.annotations.*;
+import searchengine.config.MorphologySettings;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MorphologyAnalyzerBenchmark {
+    private static final int TOKEN_COUNT = 1_000_000;
+
+    @Param({"0", "200000"})
+    private int cacheSize;
+
+    private MorphologyAnalyzer morphologyAnalyzer;
+    private String[] tokens;
+    private int position;
+
+    @Setup
+    public void setup() throws IOException {
+        MorphologySettings morphologySettings = new MorphologySettings();
+        morphologySettings.setCacheSize(cacheSize);
+        morphologyAnalyzer = new MorphologyAnalyzer(morphologySettings);
+        tokens = RussianCorpus.generateWords(TOKEN_COUNT);
+    }
+
+    @Benchmark
+    public List<String> getLemma() {
+        String token = tokens[position];
+        position = position + 1 == tokens.length ? 0 : position + 1;
+        return morphologyAnalyzer.getLemma(token);
+    }
+}
@@ -0,0 +1,69 @@
+package searchengine.morphology;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+public class RussianCorpus {
+    private static final String RESOURCE = "/russian-corpus.txt";
+    private static final String REGEX = "[\\p{Punct}\\d@©◄»«—№…]";
+    private static final double ZIPF_EXPONENT = 1.0;
+    private static final int SENTENCE_LENGTH = 12;
+    private static final long SEED = 42;
+
+    private RussianCorpus() {}
+
+    public static String[] generateWords(int wordCount) throws IOException {
+        List<String> vocabulary = getVocabulary();
+        double[] cumulativeWeights = new double[vocabulary.size()];
+        double total = 0;
+        for (int rank = 0; rank < vocabulary.size(); rank++) {
+            total += 1 / Math.pow(rank + 1, ZIPF_EXPONENT);
+            cumulativeWeights[rank] = total;
+        }
+        Random random = new Random(SEED);
+        String[] words = new String[wordCount];
+        for (int i = 0; i < wordCount; i++) {
+            int rank = Arrays.binarySearch(cumulativeWeights, random.nextDouble() * total);
+            words[i] = vocabulary.get(rank < 0 ? -rank - 1 : rank);
+        }
+        return words;
+    }
+
+    public static String generateText(int wordCount) throws IOException {
+        String[] words = generateWords(wordCount);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < words.length; i++) {
+            text.append(words[i]).append((i + 1) % SENTENCE_LENGTH == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    private static List<String> getVocabulary() throws IOException {
+        Map<String, Integer> frequencyMap = new HashMap<>();
+        for (String word : readWords()) {
+            frequencyMap.merge(word, 1, Integer::sum);
+        }
+        return frequencyMap.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    private static String[] readWords() throws IOException {
+        try (InputStream inputStream = RussianCorpus.class.getResourceAsStream(RESOURCE)) {
+            String corpus = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+            return Arrays.stream(corpus.toLowerCase(Locale.ROOT).replaceAll(REGEX, " ").split("\\s+"))
+                    .filter(word -> !word.isEmpty())
+                    .toArray(String[]::new);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package searchengine.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageScoreAccumulatorBenchmark {
+    private static final int LEMMA_COUNT = 3;
+
+    @Param({"1000", "4000", "16000"})
+    private int hits;
+
+    private List<PostingList> postingLists;
+    private List<Long> pageList;
+    private List<Posting> indexList;
+
+    private record Posting(long pageId, float rank) {
+    }
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        postingLists = new ArrayList<>();
+        indexList = new ArrayList<>();
+        Set<Long> pages = new TreeSet<>();
+        for (int l = 0; l < LEMMA_COUNT; l++) {
+            PostingList.Builder builder = new PostingList.Builder("lemma" + l);
+            long pageId = 0;
+            for (int i = 0; i < hits; i++) {
+                pageId += 1 + random.nextInt(3);
+                float rank = 1 + random.nextInt(20) * 0.8F;
+                builder.add(pageId, rank, null);
+                indexList.add(new Posting(pageId, rank));
+                pages.add(pageId);
+            }
+            postingLists.add(builder.build());
+        }
+        pageList = new ArrayList<>(pages);
+    }
+
+    @Benchmark
+    public void accumulator(Blackhole blackhole) {
+        PageScoreAccumulator accumulator = new PageScoreAccumulator(hits);
+        for (PostingList postingList : postingLists) {
+            PostingList.Cursor cursor = postingList.cursor();
+            while (cursor.next()) {
+                accumulator.add(cursor.pageId(), cursor.rank());
+            }
+        }
+        accumulator.forEach((pageId, score) -> blackhole.consume(score));
+    }
+
+    @Benchmark
+    public Map<Long, Float> streamPerPage() {
+        Map<Long, Float> pageWithRelevance = pageList.stream()
+                .collect(Collectors.toMap(page -> page, page -> indexList.stream()
+                        .filter(index -> index.pageId() == page)
+                        .map(Posting::rank)
+                        .reduce(0f, Float::sum)));
+
+        return pageWithRelevance.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey,
+                        entry -> entry.getValue() / Collections.max(pageWithRelevance.values())));
+    }
+}
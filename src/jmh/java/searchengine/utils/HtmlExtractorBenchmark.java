@@ -0,0 +1,57 @@
+package searchengine.utils;
+
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HtmlExtractorBenchmark {
+    private static final String BASE_URL = "https://www.playback.ru/catalog/";
+    private static final String PARAGRAPH = "Смартфон с ярким экраном, быстрой зарядкой и большой памятью &mdash; " +
+            "доставка по Москве <b>бесплатно</b>, гарантия 12 месяцев. ";
+
+    @Param({"20", "200"})
+    private int paragraphs;
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        StringBuilder html = new StringBuilder("<!DOCTYPE html><html><head><meta charset=\"utf-8\">")
+                .append("<title>Каталог смартфонов</title><style>p{margin:0}</style>")
+                .append("<script>var menu = '<a href=\"/menu\">';</script></head><body><div class=\"content\">");
+        for (int i = 0; i < paragraphs; i++) {
+            html.append("<p>").append(PARAGRAPH)
+                    .append("<a href=\"/product/").append(i).append(".html?ref=list\">Товар ").append(i).append("</a>")
+                    .append("</p>");
+        }
+        html.append("</div></body></html>");
+        body = html.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void jsoupDocument(Blackhole blackhole) throws IOException {
+        Document document = Jsoup.parse(new ByteArrayInputStream(body), "UTF-8", BASE_URL);
+        String html = document.outerHtml();
+        blackhole.consume(html);
+        blackhole.consume(ClearHtmlCode.clear(html, "title"));
+        blackhole.consume(ClearHtmlCode.clear(html, "body"));
+        blackhole.consume(document.select("a[href]").eachAttr("abs:href"));
+    }
+
+    @Benchmark
+    public void streamingExtractor(Blackhole blackhole) {
+        blackhole.consume(HtmlExtractor.extract(body, "UTF-8", BASE_URL));
+    }
+}
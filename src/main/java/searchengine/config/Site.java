@@ -2,10 +2,21 @@ package searchengine.config;
 
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
 
 @Setter
 @Getter
 public class Site {
     private String url;
     private String name;
+    private Duration crawlDelay = Duration.ofMillis(150);
+    private int burst = 1;
+    private int maxInFlight = 2;
+    private int maxDepth = 30;
+    private int maxPages = 100_000;
+    private DataSize maxBytes = DataSize.ofGigabytes(2);
+    private List<String> contentTypes = List.of("text/html", "application/xhtml+xml");
 }
@@ -3,7 +3,6 @@ package searchengine.controllers;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import searchengine.dto.statistics.StatisticsResponse;
-import searchengine.repositories.SiteRepository;
 import searchengine.services.IndexingService;
 import searchengine.services.SearchService;
 import searchengine.services.StatisticsService;
@@ -18,18 +17,15 @@ public class ApiController {
     private final StatisticsService statisticsService;
 
     private final IndexingService indexingService;
-    private final SiteRepository siteRepository;
     private final SearchService searchService;
-    public ApiController(StatisticsService statisticsService, IndexingService indexingService, SiteRepository siteRepository, SearchService searchService) {
+    public ApiController(StatisticsService statisticsService, IndexingService indexingService, SearchService searchService) {
         this.statisticsService = statisticsService;
         this.indexingService = indexingService;
-        this.siteRepository = siteRepository;
         this.searchService = searchService;
     }
     @PostConstruct
     public void initialize() {
-        siteRepository.deleteAll();
-        indexingService.indexingAll();
+        indexingService.resumeIndexing();
     }
 
     @GetMapping("/statistics")
@@ -0,0 +1,8 @@
+package searchengine.dto.statistics;
+
+import java.util.List;
+
+public record AnalysisDto(List<Long> pageIdList,
+                          List<LemmaDto> lemmaDtoList,
+                          List<PostingDto> postingDtoList) {
+}
@@ -0,0 +1,8 @@
+package searchengine.dto.statistics;
+
+import java.util.List;
+
+public record HtmlDto(String title,
+                      String text,
+                      List<String> linkList) {
+}
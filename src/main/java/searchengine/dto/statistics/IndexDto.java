@@ -1,7 +0,0 @@
-package searchengine.dto.statistics;
-
-public record IndexDto(Long pageID,
-                       Long lemmaID,
-                       Float rank) {
-}
-
@@ -0,0 +1,9 @@
+package searchengine.dto.statistics;
+
+public interface IndexPosting {
+    Long getLemmaId();
+    String getLemma();
+    Long getPageId();
+    Float getIndexRank();
+    byte[] getPositions();
+}
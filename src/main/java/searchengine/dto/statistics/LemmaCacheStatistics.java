@@ -0,0 +1,8 @@
+package searchengine.dto.statistics;
+
+public record LemmaCacheStatistics(long hits,
+                                   long misses,
+                                   long evictions,
+                                   int size,
+                                   double hitRate) {
+}
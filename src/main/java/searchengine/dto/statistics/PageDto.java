@@ -1,6 +1,11 @@
 package searchengine.dto.statistics;
 
 public record PageDto(String url,
-                      String content,
-                      int code) {
-}
\ No newline at end of file
+                      byte[] content,
+                      String title,
+                      String text,
+                      int code,
+                      String etag,
+                      String lastModified,
+                      String contentHash) {
+}
@@ -0,0 +1,10 @@
+package searchengine.dto.statistics;
+
+public interface PageValidator {
+    Long getId();
+    String getPath();
+    Integer getCode();
+    String getEtag();
+    String getLastModified();
+    String getContentHash();
+}
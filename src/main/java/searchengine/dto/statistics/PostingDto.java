@@ -0,0 +1,7 @@
+package searchengine.dto.statistics;
+
+public record PostingDto(long pageId,
+                         String lemma,
+                         float rank,
+                         byte[] positions) {
+}
@@ -0,0 +1,7 @@
+package searchengine.dto.statistics;
+
+public record SearchCacheStatistics(long hits,
+                                    long misses,
+                                    long evictions,
+                                    int size) {
+}
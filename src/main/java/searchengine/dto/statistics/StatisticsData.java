@@ -3,5 +3,7 @@ package searchengine.dto.statistics;
 import java.util.List;
 
 public record StatisticsData(TotalStatistics total,
-                             List<DetailedStatisticsItem> detailed) {
+                             List<DetailedStatisticsItem> detailed,
+                             SearchCacheStatistics searchCache,
+                             LemmaCacheStatistics lemmaCache) {
 }
@@ -0,0 +1,6 @@
+package searchengine.dto.statistics;
+
+import java.util.List;
+
+public record TokenSpan(int start, int end, List<String> lemmas) {
+}
@@ -0,0 +1,6 @@
+package searchengine.dto.statistics;
+
+public record ValidatorDto(long pageId,
+                           String etag,
+                           String lastModified) {
+}
@@ -1,4 +0,0 @@
-package searchengine.exception;
-
-public class NotAllSiteSearchException extends RuntimeException{
-}
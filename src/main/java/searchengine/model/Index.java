@@ -14,8 +14,11 @@ import java.io.Serializable;
         @javax.persistence.Index(name = "lemma_id_list", columnList = "lemma_id")})
 @NoArgsConstructor
 public class Index implements Serializable {
+    public static final int ID_ALLOCATION_SIZE = 1000;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "words_index_sequence")
+    @SequenceGenerator(name = "words_index_sequence", sequenceName = "words_index_sequence",
+            allocationSize = ID_ALLOCATION_SIZE)
     private long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -29,9 +32,13 @@ public class Index implements Serializable {
     @Column(nullable = false, name = "index_rank")
     private float rank;
 
-    public Index(Page page, Lemma lemma, float rank) {
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] positions;
+
+    public Index(Page page, Lemma lemma, float rank, byte[] positions) {
         this.page = page;
         this.lemma = lemma;
         this.rank = rank;
+        this.positions = positions;
     }
 }
\ No newline at end of file
@@ -13,8 +13,10 @@ import java.util.List;
 @Table(name = "lemma", indexes = {@javax.persistence.Index(name = "lemma_list", columnList = "lemma")})
 @NoArgsConstructor
 public class Lemma implements Serializable {
+    public static final int ID_ALLOCATION_SIZE = 500;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "lemma_sequence")
+    @SequenceGenerator(name = "lemma_sequence", sequenceName = "lemma_sequence", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "site_id", referencedColumnName = "id")
@@ -13,9 +13,11 @@ import java.util.List;
 @Table(name = "page", indexes = {@javax.persistence.Index(name = "path_list", columnList = "path")})
 @NoArgsConstructor
 public class Page implements Serializable {
+    public static final int ID_ALLOCATION_SIZE = 100;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "page_sequence")
+    @SequenceGenerator(name = "page_sequence", sequenceName = "page_sequence", allocationSize = ID_ALLOCATION_SIZE)
     private long id;
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(nullable = false, name = "site_id", referencedColumnName = "id")
@@ -24,18 +26,25 @@ public class Page implements Serializable {
     private String path;
 
     private int code;
+    @Column(columnDefinition = "TEXT CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci")
+    private String title;
     @Column(length = 16777215, columnDefinition = "mediumtext CHARACTER SET utf8mb4 COLLATE utf8mb4_general_ci")
-    private String content;
-
+    private String text;
+    private String etag;
+    @Column(name = "last_modified")
+    private String lastModified;
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
 
     @OneToMany(mappedBy = "page", cascade = CascadeType.ALL)
     private List<Index> index = new ArrayList<>();
 
-    public Page(Site siteId, String path, int code, String content) {
+    public Page(Site siteId, String path, int code, String title, String text) {
         this.siteId = siteId;
         this.path = path;
         this.code = code;
-        this.content = content;
+        this.title = title;
+        this.text = text;
     }
 }
 
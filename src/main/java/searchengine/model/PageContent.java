@@ -0,0 +1,38 @@
+package searchengine.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+import searchengine.utils.ContentCompressor;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+@Data
+@Entity
+@Table(name = "page_content")
+@NoArgsConstructor
+public class PageContent implements Serializable {
+    @Id
+    private long id;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "page_id")
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Page page;
+
+    @Lob
+    @Column(columnDefinition = "LONGBLOB", nullable = false)
+    private byte[] data;
+
+    public PageContent(Page page, byte[] data) {
+        this.page = page;
+        this.data = data;
+    }
+
+    public String getHtml() {
+        return ContentCompressor.decompress(data);
+    }
+}
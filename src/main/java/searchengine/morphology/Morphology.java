@@ -1,10 +1,14 @@
 package searchengine.morphology;
 
+import searchengine.dto.statistics.LemmaCacheStatistics;
+import searchengine.dto.statistics.TokenSpan;
+
 import java.util.HashMap;
 import java.util.List;
 
 public interface Morphology {
     HashMap<String, Integer> getLemmaList(String content);
     List<String> getLemma(String word);
-    List<Integer> findLemmaIndexInText(String content, String lemma);
+    List<TokenSpan> getTokenSpans(String content);
+    LemmaCacheStatistics getCacheStatistics();
 }
\ No newline at end of file
@@ -5,21 +5,28 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.Marker;
 import org.apache.logging.log4j.MarkerManager;
+import org.apache.lucene.morphology.LuceneMorphology;
+import org.apache.lucene.morphology.english.EnglishLuceneMorphology;
 import org.apache.lucene.morphology.russian.RussianLuceneMorphology;
 import org.springframework.stereotype.Component;
+import searchengine.config.MorphologySettings;
+import searchengine.dto.statistics.LemmaCacheStatistics;
+import searchengine.dto.statistics.TokenSpan;
 
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
-import java.util.Locale;
 
 @Slf4j
 @Component
 public class MorphologyAnalyzer implements Morphology {
     private static RussianLuceneMorphology russianMorph;
-    private static final String REGEX = "[\\p{Punct}\\d@©◄»«—№…]";
+    private static EnglishLuceneMorphology englishMorph;
+    private static final List<String> RUSSIAN_SERVICE_PARTS = List.of("ПРЕДЛ", "СОЮЗ", "МЕЖД", "МС", "ЧАСТ");
+    private static final List<String> ENGLISH_SERVICE_PARTS = List.of("CONJ", "PREP", "ARTICLE", "INT", "PART", "PN");
     private static final Logger logger = LogManager.getLogger(MorphologyAnalyzer.class);
     private static final Marker INVALID_SYMBOL_MARKER = MarkerManager.getMarker("INVALID_SYMBOL");
+    private final WordFormCache wordFormCache;
 
     static {
         try {
@@ -27,66 +34,92 @@ public class MorphologyAnalyzer implements Morphology {
         } catch (Exception e) {
             logger.error(e.getMessage());
         }
+        try {
+            englishMorph = new EnglishLuceneMorphology();
+        } catch (Exception e) {
+            logger.error(e.getMessage());
+        }
+    }
+
+    public MorphologyAnalyzer(MorphologySettings morphologySettings) {
+        this.wordFormCache = new WordFormCache(morphologySettings.getCacheSize());
     }
 
     @Override
     public HashMap<String, Integer> getLemmaList(String content) {
-        content = content.toLowerCase(Locale.ROOT)
-                .replaceAll(REGEX, " ");
         HashMap<String, Integer> lemmaList = new HashMap<>();
-        String[] elements = content.toLowerCase(Locale.ROOT).split("\\s+");
-        for (String el : elements) {
-            List<String> wordsList = getLemma(el);
-            for (String word : wordsList) {
-                int count = lemmaList.getOrDefault(word, 0);
-                lemmaList.put(word, count + 1);
+        WordTokenizer.tokenize(content, token -> {
+            for (String lemma : getLemma(token)) {
+                lemmaList.merge(lemma, 1, Integer::sum);
             }
-        }
+        });
         return lemmaList;
     }
 
+    @Override
+    public List<TokenSpan> getTokenSpans(String content) {
+        List<TokenSpan> tokenSpanList = new ArrayList<>();
+        WordTokenizer.tokenize(content, token -> {
+            tokenSpanList.add(new TokenSpan(token.start(), token.end(), getLemma(token)));
+        });
+        return tokenSpanList;
+    }
+
     @Override
     public List<String> getLemma(String word) {
-        List<String> lemmaList = new ArrayList<>();
-        try {
-            List<String> baseRusForm = russianMorph.getNormalForms(word);
-            if (!isServiceWord(word)) {
-                lemmaList.addAll(baseRusForm);
-            }
-        } catch (Exception e) {
-            logger.debug(INVALID_SYMBOL_MARKER, "Символ не найден - {}", word);
+        if (word.isEmpty()) {
+            return List.of();
         }
-        return lemmaList;
+        WordForm wordForm = wordFormCache.get(word, this::analyzeWord);
+        return wordForm.serviceWord() ? List.of() : wordForm.lemmas();
     }
 
     @Override
-    public List<Integer> findLemmaIndexInText(String content, String lemma) {
-        List<Integer> lemmaIndexList = new ArrayList<>();
-        String[] elements = content.toLowerCase(Locale.ROOT).split("[\\p{Punct}\\s]");
-        int index = 0;
-        for (String el : elements) {
-            List<String> lemmas = getLemma(el);
-            for (String lem : lemmas) {
-                if (lem.equals(lemma)) {
-                    lemmaIndexList.add(index);
-                }
-            }
-            index += el.length() + 1;
+    public LemmaCacheStatistics getCacheStatistics() {
+        return wordFormCache.getStatistics();
+    }
+
+    private List<String> getLemma(WordToken token) {
+        WordForm wordForm = wordFormCache.find(token);
+        if (wordForm == null) {
+            wordForm = wordFormCache.load(token.toString(), this::analyzeWord);
+        }
+        return wordForm.serviceWord() ? List.of() : wordForm.lemmas();
+    }
+
+    private WordForm analyzeWord(String word) {
+        LuceneMorphology luceneMorph = selectMorphology(word);
+        if (luceneMorph == null) {
+            logger.debug(INVALID_SYMBOL_MARKER, "Символ не найден - {}", word);
+            return WordForm.UNKNOWN;
         }
-        return lemmaIndexList;
+        List<String> lemmaList = luceneMorph.getNormalForms(word).stream().map(String::intern).toList();
+        return new WordForm(lemmaList, isServiceWord(luceneMorph, word));
     }
 
-    private boolean isServiceWord(String word) {
-        List<String> morphForm = russianMorph.getMorphInfo(word);
-        for (String l : morphForm) {
-            if (l.contains("ПРЕДЛ")
-                    || l.contains("СОЮЗ")
-                    || l.contains("МЕЖД")
-                    || l.contains("МС")
-                    || l.contains("ЧАСТ")
-                    || l.length() <= 3) {
+    private LuceneMorphology selectMorphology(String word) {
+        char first = word.charAt(0);
+        LuceneMorphology luceneMorph = null;
+        if (WordTokenizer.isCyrillic(first)) {
+            luceneMorph = russianMorph;
+        } else if (WordTokenizer.isLatin(first)) {
+            luceneMorph = englishMorph;
+        }
+        return luceneMorph != null && luceneMorph.checkString(word) ? luceneMorph : null;
+    }
+
+    private boolean isServiceWord(LuceneMorphology luceneMorph, String word) {
+        List<String> serviceParts = luceneMorph == englishMorph ? ENGLISH_SERVICE_PARTS : RUSSIAN_SERVICE_PARTS;
+        for (String l : luceneMorph.getMorphInfo(word)) {
+            if (l.length() <= 3) {
                 return true;
             }
+            String grammemes = l.substring(l.indexOf('|') + 1);
+            for (String servicePart : serviceParts) {
+                if (grammemes.contains(servicePart)) {
+                    return true;
+                }
+            }
         }
         return false;
     }
@@ -0,0 +1,7 @@
+package searchengine.morphology;
+
+import java.util.List;
+
+public record WordForm(List<String> lemmas, boolean serviceWord) {
+    public static final WordForm UNKNOWN = new WordForm(List.of(), false);
+}
@@ -0,0 +1,74 @@
+package searchengine.morphology;
+
+import searchengine.dto.statistics.LemmaCacheStatistics;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class WordFormCache {
+    private final int generationSize;
+    private volatile ConcurrentHashMap<String, WordForm> hot = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, WordForm> cold = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public WordFormCache(int maxSize) {
+        this.generationSize = maxSize / 2;
+    }
+
+    public WordForm get(String word, Function<String, WordForm> loader) {
+        WordForm wordForm = find(word);
+        return wordForm != null ? wordForm : load(word, loader);
+    }
+
+    public WordForm find(CharSequence word) {
+        WordForm wordForm = hot.get(word);
+        if (wordForm != null) {
+            hits.increment();
+            return wordForm;
+        }
+        wordForm = cold.get(word);
+        if (wordForm != null) {
+            hits.increment();
+            put(word.toString(), wordForm);
+        }
+        return wordForm;
+    }
+
+    public WordForm load(String word, Function<String, WordForm> loader) {
+        misses.increment();
+        WordForm wordForm = loader.apply(word);
+        put(word, wordForm);
+        return wordForm;
+    }
+
+    private void put(String word, WordForm wordForm) {
+        if (generationSize <= 0) {
+            return;
+        }
+        ConcurrentHashMap<String, WordForm> current = hot;
+        current.put(word, wordForm);
+        if (current.size() >= generationSize) {
+            rotate(current);
+        }
+    }
+
+    public LemmaCacheStatistics getStatistics() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requestCount = hitCount + missCount;
+        double hitRate = requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        return new LemmaCacheStatistics(hitCount, missCount, evictions.sum(), hot.size() + cold.size(), hitRate);
+    }
+
+    private synchronized void rotate(ConcurrentHashMap<String, WordForm> current) {
+        if (hot != current) {
+            return;
+        }
+        evictions.add(cold.size());
+        cold = current;
+        hot = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,83 @@
+package searchengine.morphology;
+
+import java.util.Arrays;
+
+public final class WordToken implements CharSequence {
+    private char[] chars = new char[32];
+    private int length;
+    private int hash;
+    private int start;
+    private int end;
+
+    void clear() {
+        length = 0;
+        hash = 0;
+    }
+
+    void append(char c, int position) {
+        if (length == 0) {
+            start = position;
+        }
+        end = position + 1;
+        if (length == chars.length) {
+            chars = Arrays.copyOf(chars, length * 2);
+        }
+        chars[length++] = c;
+        hash = 31 * hash + c;
+    }
+
+    public int start() {
+        return start;
+    }
+
+    public int end() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        return chars[index];
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return length == 0;
+    }
+
+    // Хэш совпадает со String.hashCode, поэтому токен можно искать в картах со строковыми ключами
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof CharSequence sequence) || sequence.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (sequence.charAt(i) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
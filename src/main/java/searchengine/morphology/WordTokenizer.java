@@ -0,0 +1,34 @@
+package searchengine.morphology;
+
+import java.util.function.Consumer;
+
+public final class WordTokenizer {
+
+    private WordTokenizer() {
+    }
+
+    public static void tokenize(CharSequence text, Consumer<WordToken> consumer) {
+        WordToken token = new WordToken();
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (isCyrillic(c) || isLatin(c)) {
+                token.append(Character.toLowerCase(c), i);
+            } else if (!token.isEmpty()) {
+                consumer.accept(token);
+                token.clear();
+            }
+        }
+        if (!token.isEmpty()) {
+            consumer.accept(token);
+        }
+    }
+
+    public static boolean isCyrillic(char c) {
+        return c >= 'Ѐ' && c <= 'ӿ';
+    }
+
+    public static boolean isLatin(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+}
@@ -0,0 +1,51 @@
+package searchengine.parsers;
+
+import searchengine.config.Site;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class CrawlBudget {
+    private final int maxDepth;
+    private final int maxPages;
+    private final long maxBytes;
+    private final List<String> contentTypes;
+    private final AtomicLong downloadedBytes = new AtomicLong();
+
+    public CrawlBudget(Site site) {
+        this.maxDepth = site.getMaxDepth();
+        this.maxPages = site.getMaxPages();
+        this.maxBytes = site.getMaxBytes().toBytes();
+        this.contentTypes = site.getContentTypes().stream().map(type -> type.trim().toLowerCase(Locale.ROOT)).toList();
+    }
+
+    public boolean allowsDepth(int depth) {
+        return depth <= maxDepth;
+    }
+
+    public boolean allowsPages(int pageCount) {
+        return pageCount <= maxPages;
+    }
+
+    public boolean allowsContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return true;
+        }
+        int parameters = contentType.indexOf(';');
+        String mimeType = (parameters == -1 ? contentType : contentType.substring(0, parameters)).trim();
+        return contentTypes.contains(mimeType.toLowerCase(Locale.ROOT));
+    }
+
+    public long getRemainingBytes() {
+        return Math.max(0, maxBytes - downloadedBytes.get());
+    }
+
+    public void addBytes(long length) {
+        downloadedBytes.addAndGet(length);
+    }
+
+    public boolean isExhausted() {
+        return downloadedBytes.get() >= maxBytes;
+    }
+}
@@ -0,0 +1,119 @@
+package searchengine.parsers;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+@Slf4j
+public class CrawlCheckpoint {
+    private static final char DISCOVERED = '+';
+    private static final char DONE = '-';
+    private final Path path;
+    private final Set<String> pendingUrls = new LinkedHashSet<>();
+    private final Set<String> doneUrls = new HashSet<>();
+    private BufferedWriter writer;
+
+    public CrawlCheckpoint(Path directory, String siteUrl) throws IOException {
+        Files.createDirectories(directory);
+        this.path = directory.resolve(siteUrl.replaceAll("[^a-zA-Z0-9.-]", "_") + ".log");
+        if (Files.exists(path)) {
+            read();
+        }
+        this.writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    public Set<String> getPendingUrls() {
+        return Collections.unmodifiableSet(pendingUrls);
+    }
+
+    public Set<String> getDoneUrls() {
+        return Collections.unmodifiableSet(doneUrls);
+    }
+
+    public synchronized void discovered(String url) {
+        write(DISCOVERED, url);
+    }
+
+    public synchronized void done(String url) {
+        write(DONE, url);
+    }
+
+    public synchronized void flush() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+        } catch (IOException e) {
+            log.warn("Не удалось закрыть контрольную точку {}", path, e);
+        }
+        writer = null;
+    }
+
+    public synchronized void delete() {
+        close();
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Не удалось удалить контрольную точку {}", path, e);
+        }
+    }
+
+    private void write(char type, String url) {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.write(type);
+            writer.write(url);
+            writer.newLine();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    private void fail(IOException e) {
+        log.warn("Запись контрольной точки {} прекращена", path, e);
+        close();
+    }
+
+    private void read() throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.length() < 2) {
+                    continue;
+                }
+                String url = line.substring(1);
+                if (line.charAt(0) == DONE) {
+                    doneUrls.add(url);
+                    pendingUrls.remove(url);
+                } else if (line.charAt(0) == DISCOVERED && !doneUrls.contains(url)) {
+                    pendingUrls.add(url);
+                }
+            }
+        }
+    }
+}
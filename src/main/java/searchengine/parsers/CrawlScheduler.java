@@ -0,0 +1,61 @@
+package searchengine.parsers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+@Component
+@RequiredArgsConstructor
+public class CrawlScheduler {
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+    private final Map<String, HostBucket> hostBucketMap = new ConcurrentHashMap<>();
+    private final SitesList sitesList;
+
+    public CompletableFuture<Void> acquire(String url) {
+        return getHostBucket(url).acquire();
+    }
+
+    public void release(String url) {
+        getHostBucket(url).release();
+    }
+
+    public void setMinCrawlDelay(String url, Duration crawlDelay) {
+        getHostBucket(url).setMinDelay(crawlDelay.toNanos());
+    }
+
+    private HostBucket getHostBucket(String url) {
+        return hostBucketMap.computeIfAbsent(getHost(url), this::createHostBucket);
+    }
+
+    private HostBucket createHostBucket(String host) {
+        Site settings = new Site();
+        for (Site site : sitesList.getSites()) {
+            if (host.equals(getHost(site.getUrl()))) {
+                settings = site;
+                break;
+            }
+        }
+        return new HostBucket(timer, settings.getCrawlDelay().toNanos(), settings.getBurst(),
+                settings.getMaxInFlight());
+    }
+
+    private static String getHost(String url) {
+        String host = URI.create(url.trim()).getHost();
+        return host == null ? "" : host.toLowerCase();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
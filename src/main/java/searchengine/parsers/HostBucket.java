@@ -0,0 +1,93 @@
+package searchengine.parsers;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class HostBucket {
+    private final ScheduledExecutorService timer;
+    private long delayNanos;
+    private final int burst;
+    private final int maxInFlight;
+    private final Deque<CompletableFuture<Void>> waiting = new ArrayDeque<>();
+    private double tokens;
+    private long refillTime;
+    private int inFlight;
+    private boolean drainScheduled;
+
+    public HostBucket(ScheduledExecutorService timer, long delayNanos, int burst, int maxInFlight) {
+        this.timer = timer;
+        this.delayNanos = Math.max(0, delayNanos);
+        this.burst = Math.max(1, burst);
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.tokens = this.burst;
+        this.refillTime = System.nanoTime();
+    }
+
+    public synchronized void setMinDelay(long minDelayNanos) {
+        delayNanos = Math.max(delayNanos, minDelayNanos);
+    }
+
+    public CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        synchronized (this) {
+            waiting.add(permit);
+        }
+        drain();
+        return permit;
+    }
+
+    public void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<CompletableFuture<Void>> granted = new ArrayList<>();
+        synchronized (this) {
+            refill();
+            while (!waiting.isEmpty() && inFlight < maxInFlight && tokens >= 1) {
+                CompletableFuture<Void> permit = waiting.poll();
+                if (permit.isDone()) {
+                    continue;
+                }
+                tokens--;
+                inFlight++;
+                granted.add(permit);
+            }
+            if (!waiting.isEmpty() && inFlight < maxInFlight && !drainScheduled) {
+                drainScheduled = true;
+                long waitNanos = (long) ((1 - tokens) * delayNanos);
+                timer.schedule(this::scheduledDrain, waitNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        for (CompletableFuture<Void> permit : granted) {
+            if (!permit.complete(null)) {
+                release();
+            }
+        }
+    }
+
+    private void scheduledDrain() {
+        synchronized (this) {
+            drainScheduled = false;
+        }
+        drain();
+    }
+
+    private void refill() {
+        if (delayNanos == 0) {
+            tokens = burst;
+            return;
+        }
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (double) (now - refillTime) / delayNanos);
+        refillTime = now;
+    }
+}
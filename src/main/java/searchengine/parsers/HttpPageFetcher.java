@@ -0,0 +1,135 @@
+package searchengine.parsers;
+
+import org.springframework.stereotype.Component;
+import searchengine.config.CrawlerSettings;
+import searchengine.dto.statistics.PageValidator;
+import searchengine.utils.RandomUserAgent;
+
+import java.io.ByteArrayOutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow;
+import java.util.function.ToLongFunction;
+
+@Component
+public class HttpPageFetcher implements PageFetcher {
+    private final HttpClient httpClient;
+    private final CrawlerSettings crawlerSettings;
+
+    public HttpPageFetcher(CrawlerSettings crawlerSettings) {
+        this.crawlerSettings = crawlerSettings;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(crawlerSettings.getConnectTimeout())
+                .build();
+    }
+
+    @Override
+    public CompletableFuture<HttpResponse<byte[]>> fetch(String url, PageValidator validator,
+                                                         ToLongFunction<HttpResponse.ResponseInfo> bodyLimit) {
+        try {
+            HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(crawlerSettings.getRequestTimeout())
+                    .header("User-Agent", RandomUserAgent.getRandomUserAgent())
+                    .GET();
+            if (validator != null && validator.getEtag() != null) {
+                request.header("If-None-Match", validator.getEtag());
+            }
+            if (validator != null && validator.getLastModified() != null) {
+                request.header("If-Modified-Since", validator.getLastModified());
+            }
+            HttpResponse.BodyHandler<byte[]> bodyHandler = responseInfo -> {
+                long limit = bodyLimit.applyAsLong(responseInfo);
+                return limit < 0 ? new SkippedBody() : new LimitedBody(limit);
+            };
+            return httpClient.sendAsync(request.build(), bodyHandler);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static class SkippedBody implements HttpResponse.BodySubscriber<byte[]> {
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.cancel();
+            body.complete(null);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.complete(null);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(null);
+        }
+    }
+
+    private static class LimitedBody implements HttpResponse.BodySubscriber<byte[]> {
+        private final long limit;
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        private final CompletableFuture<byte[]> body = new CompletableFuture<>();
+        private Flow.Subscription subscription;
+
+        private LimitedBody(long limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public CompletionStage<byte[]> getBody() {
+            return body;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            if (body.isDone()) {
+                return;
+            }
+            for (ByteBuffer buffer : item) {
+                if ((long) output.size() + buffer.remaining() > limit) {
+                    subscription.cancel();
+                    body.complete(null);
+                    return;
+                }
+                byte[] bytes = new byte[buffer.remaining()];
+                buffer.get(bytes);
+                output.writeBytes(bytes);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            body.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            body.complete(output.toByteArray());
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package searchengine.parsers;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import searchengine.dto.statistics.AnalysisDto;
+import searchengine.dto.statistics.LemmaDto;
+import searchengine.dto.statistics.PageDto;
+import searchengine.dto.statistics.PostingDto;
+import searchengine.dto.statistics.ValidatorDto;
+import searchengine.model.Index;
+import searchengine.model.Lemma;
+import searchengine.model.Page;
+import searchengine.model.PageContent;
+import searchengine.model.Site;
+import searchengine.repositories.IndexRepository;
+import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageContentRepository;
+import searchengine.repositories.PageRepository;
+import searchengine.repositories.SiteRepository;
+
+import javax.persistence.EntityManager;
+import java.util.*;
+
+@Component
+@DependsOn("sequenceInitializer")
+@RequiredArgsConstructor
+public class IndexBatchWriter implements IndexWriter {
+    private static final int CHUNK_SIZE = 1000;
+    private final EntityManager entityManager;
+    private final PageRepository pageRepository;
+    private final PageContentRepository pageContentRepository;
+    private final SiteRepository siteRepository;
+    private final LemmaRepository lemmaRepository;
+    private final IndexRepository indexRepository;
+
+    @Override
+    @Transactional
+    public List<Page> savePages(Site site, List<PageDto> pageDtoList) {
+        String url = site.getUrl();
+        Map<String, PageDto> pageDtoMap = new LinkedHashMap<>();
+        for (PageDto page : pageDtoList) {
+            int start = page.url().indexOf(url) + url.length();
+            pageDtoMap.put(page.url().substring(start), page);
+        }
+        Map<String, Page> existingPageMap = new HashMap<>();
+        for (Page page : pageRepository.findBySiteIdAndPathIn(site, pageDtoMap.keySet())) {
+            existingPageMap.put(page.getPath(), page);
+        }
+        Map<Long, PageContent> existingContentMap = new HashMap<>();
+        List<Long> existingPageIds = existingPageMap.values().stream().map(Page::getId).toList();
+        for (PageContent pageContent : pageContentRepository.findAllById(existingPageIds)) {
+            existingContentMap.put(pageContent.getId(), pageContent);
+        }
+        List<Page> pageList = new ArrayList<>(pageDtoMap.size());
+        pageDtoMap.forEach((path, pageDto) -> {
+            Page page = existingPageMap.get(path);
+            if (page == null) {
+                page = new Page(site, path, pageDto.code(), pageDto.title(), pageDto.text());
+            } else {
+                page.setCode(pageDto.code());
+                page.setTitle(pageDto.title());
+                page.setText(pageDto.text());
+            }
+            page.setEtag(pageDto.etag());
+            page.setLastModified(pageDto.lastModified());
+            page.setContentHash(pageDto.contentHash());
+            pageList.add(page);
+        });
+        List<Page> savedPageList = pageRepository.saveAll(pageList);
+        List<PageContent> pageContentList = new ArrayList<>(savedPageList.size());
+        for (Page page : savedPageList) {
+            byte[] content = pageDtoMap.get(page.getPath()).content();
+            PageContent pageContent = existingContentMap.get(page.getId());
+            if (pageContent == null) {
+                pageContentList.add(new PageContent(page, content));
+            } else {
+                pageContent.setData(content);
+            }
+        }
+        pageContentRepository.saveAll(pageContentList);
+        return savedPageList;
+    }
+
+    @Override
+    @Transactional
+    public void saveAnalysis(Site site, AnalysisDto analysisDto) {
+        List<String> lemmas = analysisDto.lemmaDtoList().stream().map(LemmaDto::lemma).toList();
+        Map<String, Lemma> lemmaMap = new HashMap<>();
+        for (Lemma lemma : lemmaRepository.findBySiteEntityIdAndLemmaIn(site, lemmas)) {
+            lemmaMap.put(lemma.getLemma(), lemma);
+        }
+        Map<String, Integer> frequencyDeltaMap = new HashMap<>();
+        for (LemmaDto lemmaDto : analysisDto.lemmaDtoList()) {
+            frequencyDeltaMap.merge(lemmaDto.lemma(), lemmaDto.frequency(), Integer::sum);
+        }
+        Map<Long, Map<String, Index>> oldIndexMap = new HashMap<>();
+        for (Index index : indexRepository.findByPageIdIn(analysisDto.pageIdList())) {
+            Lemma lemma = index.getLemma();
+            lemmaMap.putIfAbsent(lemma.getLemma(), lemma);
+            oldIndexMap.computeIfAbsent(index.getPage().getId(), pageId -> new HashMap<>()).put(lemma.getLemma(), index);
+            frequencyDeltaMap.merge(lemma.getLemma(), -1, Integer::sum);
+        }
+
+        List<Lemma> newLemmaList = new ArrayList<>();
+        List<Lemma> emptyLemmaList = new ArrayList<>();
+        frequencyDeltaMap.forEach((lemmaName, delta) -> {
+            Lemma lemma = lemmaMap.get(lemmaName);
+            if (lemma == null) {
+                lemma = new Lemma(lemmaName, delta, site);
+                lemmaMap.put(lemmaName, lemma);
+                newLemmaList.add(lemma);
+            } else {
+                lemma.setFrequency(lemma.getFrequency() + delta);
+                if (lemma.getFrequency() <= 0) {
+                    emptyLemmaList.add(lemma);
+                }
+            }
+        });
+
+        List<Index> indexList = new ArrayList<>(analysisDto.postingDtoList().size());
+        Map<Long, Page> pageMap = new HashMap<>();
+        for (PostingDto postingDto : analysisDto.postingDtoList()) {
+            Map<String, Index> oldIndexes = oldIndexMap.get(postingDto.pageId());
+            Index oldIndex = oldIndexes == null ? null : oldIndexes.remove(postingDto.lemma());
+            if (oldIndex != null) {
+                oldIndex.setRank(postingDto.rank());
+                oldIndex.setPositions(postingDto.positions());
+                continue;
+            }
+            Page page = pageMap.computeIfAbsent(postingDto.pageId(), pageRepository::getReferenceById);
+            indexList.add(new Index(page, lemmaMap.get(postingDto.lemma()), postingDto.rank(),
+                    postingDto.positions()));
+        }
+        List<Long> staleIndexIds = new ArrayList<>();
+        for (Map<String, Index> oldIndexes : oldIndexMap.values()) {
+            oldIndexes.values().forEach(index -> staleIndexIds.add(index.getId()));
+        }
+        List<Long> emptyLemmaIds = emptyLemmaList.stream().map(Lemma::getId).toList();
+        saveInChunks(lemmaRepository, newLemmaList);
+        saveInChunks(indexRepository, indexList);
+        indexRepository.deleteAllByIdInBatch(staleIndexIds);
+        lemmaRepository.deleteAllByIdInBatch(emptyLemmaIds);
+
+        site.setStatusTime(new Date());
+        siteRepository.save(site);
+    }
+
+    @Override
+    @Transactional
+    public void saveValidators(List<ValidatorDto> validatorList) {
+        for (ValidatorDto validatorDto : validatorList) {
+            pageRepository.updateValidators(validatorDto.pageId(), validatorDto.etag(), validatorDto.lastModified());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void removePages(Site site, List<Long> pageIdList) {
+        for (int start = 0; start < pageIdList.size(); start += CHUNK_SIZE) {
+            List<Long> pageIds = pageIdList.subList(start, Math.min(start + CHUNK_SIZE, pageIdList.size()));
+            Map<Long, Lemma> lemmaMap = new HashMap<>();
+            List<Long> indexIds = new ArrayList<>();
+            for (Index index : indexRepository.findByPageIdIn(pageIds)) {
+                Lemma lemma = lemmaMap.computeIfAbsent(index.getLemma().getId(), lemmaId -> index.getLemma());
+                lemma.setFrequency(lemma.getFrequency() - 1);
+                indexIds.add(index.getId());
+            }
+            List<Long> emptyLemmaIds = lemmaMap.values().stream()
+                    .filter(lemma -> lemma.getFrequency() <= 0)
+                    .map(Lemma::getId)
+                    .toList();
+            indexRepository.deleteAllByIdInBatch(indexIds);
+            lemmaRepository.deleteAllByIdInBatch(emptyLemmaIds);
+            pageRepository.deleteAllByIdInBatch(pageIds);
+            entityManager.flush();
+            entityManager.clear();
+        }
+        if (!pageIdList.isEmpty()) {
+            site.setStatusTime(new Date());
+            siteRepository.save(site);
+        }
+    }
+
+    private <T> void saveInChunks(JpaRepository<T, Long> repository, List<T> entityList) {
+        for (int start = 0; start < entityList.size(); start += CHUNK_SIZE) {
+            repository.saveAll(entityList.subList(start, Math.min(start + CHUNK_SIZE, entityList.size())));
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+}
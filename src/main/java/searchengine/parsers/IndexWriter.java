@@ -0,0 +1,16 @@
+package searchengine.parsers;
+
+import searchengine.dto.statistics.AnalysisDto;
+import searchengine.dto.statistics.PageDto;
+import searchengine.dto.statistics.ValidatorDto;
+import searchengine.model.Page;
+import searchengine.model.Site;
+
+import java.util.List;
+
+public interface IndexWriter {
+    List<Page> savePages(Site site, List<PageDto> pageDtoList);
+    void saveAnalysis(Site site, AnalysisDto analysisDto);
+    void saveValidators(List<ValidatorDto> validatorList);
+    void removePages(Site site, List<Long> pageIdList);
+}
@@ -0,0 +1,104 @@
+package searchengine.parsers;
+
+import searchengine.dto.statistics.PageValidator;
+import searchengine.dto.statistics.ValidatorDto;
+import searchengine.model.PageContent;
+import searchengine.repositories.PageContentRepository;
+import searchengine.utils.HtmlExtractor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+public class KnownPages {
+    private static final int HTTP_NOT_FOUND = 404;
+    private static final int HTTP_GONE = 410;
+    private final Map<String, PageValidator> validatorMap;
+    private final PageContentRepository pageContentRepository;
+    private final Queue<ValidatorDto> changedValidators = new ConcurrentLinkedQueue<>();
+    private final Set<String> reachedUrls = ConcurrentHashMap.newKeySet();
+    private final Set<String> goneUrls = ConcurrentHashMap.newKeySet();
+
+    public KnownPages(Map<String, PageValidator> validatorMap, PageContentRepository pageContentRepository) {
+        this.validatorMap = validatorMap;
+        this.pageContentRepository = pageContentRepository;
+    }
+
+    public PageValidator get(String url) {
+        return validatorMap.get(url);
+    }
+
+    public boolean contains(String url) {
+        return validatorMap.containsKey(url);
+    }
+
+    public Set<String> getUrls() {
+        return validatorMap.keySet();
+    }
+
+    public List<String> getStoredLinks(String url) {
+        PageValidator knownPage = validatorMap.get(url);
+        if (knownPage == null || knownPage.getId() == null) {
+            return List.of();
+        }
+        return pageContentRepository.findById(knownPage.getId())
+                .map(PageContent::getHtml)
+                .map(html -> HtmlExtractor.extract(html, url).linkList())
+                .orElse(List.of());
+    }
+
+    public void updateValidators(String url, String etag, String lastModified) {
+        PageValidator knownPage = validatorMap.get(url);
+        if (knownPage == null || knownPage.getId() == null) {
+            return;
+        }
+        if (!Objects.equals(etag, knownPage.getEtag()) || !Objects.equals(lastModified, knownPage.getLastModified())) {
+            changedValidators.add(new ValidatorDto(knownPage.getId(), etag, lastModified));
+        }
+    }
+
+    public List<ValidatorDto> pollChangedValidators() {
+        List<ValidatorDto> validatorList = new ArrayList<>();
+        ValidatorDto validator;
+        while ((validator = changedValidators.poll()) != null) {
+            validatorList.add(validator);
+        }
+        return validatorList;
+    }
+
+    public void markReached(String url) {
+        if (validatorMap.containsKey(url)) {
+            reachedUrls.add(url);
+        }
+    }
+
+    public void markReached(Collection<String> urls) {
+        urls.forEach(this::markReached);
+    }
+
+    public boolean markGone(String url, int status) {
+        PageValidator knownPage = validatorMap.get(url);
+        if (knownPage == null || (status != HTTP_NOT_FOUND && status != HTTP_GONE)
+                || knownPage.getCode() == null || knownPage.getCode() >= HTTP_NOT_FOUND) {
+            return false;
+        }
+        goneUrls.add(url);
+        return true;
+    }
+
+    public List<Long> getRemovedPageIds() {
+        List<Long> pageIdList = new ArrayList<>();
+        validatorMap.forEach((url, knownPage) -> {
+            if (knownPage.getId() != null && (goneUrls.contains(url) || !reachedUrls.contains(url))) {
+                pageIdList.add(knownPage.getId());
+            }
+        });
+        return pageIdList;
+    }
+}
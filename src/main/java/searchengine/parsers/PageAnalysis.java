@@ -0,0 +1,92 @@
+package searchengine.parsers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.dto.statistics.AnalysisDto;
+import searchengine.dto.statistics.LemmaDto;
+import searchengine.dto.statistics.PostingDto;
+import searchengine.dto.statistics.TokenSpan;
+import searchengine.model.Page;
+import searchengine.morphology.Morphology;
+import searchengine.utils.PositionCodec;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PageAnalysis implements PageAnalyzer {
+    private static final int PROCESSOR_CORE_COUNT = Runtime.getRuntime().availableProcessors();
+    private static final float BODY_WEIGHT = 0.8F;
+    private static final int TITLE_GAP = 100;
+    private final ForkJoinPool forkJoinPool = new ForkJoinPool(PROCESSOR_CORE_COUNT);
+    private final Morphology morphology;
+
+    @Override
+    public AnalysisDto analyze(List<Page> pageList) throws InterruptedException {
+        List<Page> goodPageList = new ArrayList<>(pageList.size());
+        for (Page page : pageList) {
+            if (page.getCode() >= 400) {
+                logBadStatusCode(page.getCode());
+                continue;
+            }
+            goodPageList.add(page);
+        }
+        List<List<PostingDto>> pagePostingList;
+        try {
+            pagePostingList = forkJoinPool.submit(() -> goodPageList.parallelStream()
+                    .map(this::analyzePage)
+                    .toList()).get();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Ошибка анализа страниц", e.getCause());
+        }
+        TreeMap<String, Integer> frequencyMap = new TreeMap<>();
+        List<PostingDto> postingDtoList = new ArrayList<>();
+        for (List<PostingDto> postings : pagePostingList) {
+            for (PostingDto posting : postings) {
+                frequencyMap.merge(posting.lemma(), 1, Integer::sum);
+                postingDtoList.add(posting);
+            }
+        }
+        List<LemmaDto> lemmaDtoList = new ArrayList<>(frequencyMap.size());
+        frequencyMap.forEach((lemma, frequency) -> lemmaDtoList.add(new LemmaDto(lemma, frequency)));
+        List<Long> pageIdList = pageList.stream().map(Page::getId).toList();
+        return new AnalysisDto(pageIdList, lemmaDtoList, postingDtoList);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        forkJoinPool.shutdownNow();
+    }
+
+    private List<PostingDto> analyzePage(Page page) {
+        List<TokenSpan> titleSpanList = morphology.getTokenSpans(page.getTitle());
+        List<TokenSpan> bodySpanList = morphology.getTokenSpans(page.getText());
+        Map<String, Float> rankMap = new HashMap<>();
+        Map<String, List<Integer>> positionMap = new HashMap<>();
+        addTokenSpans(titleSpanList, 0, 1, rankMap, positionMap);
+        addTokenSpans(bodySpanList, titleSpanList.size() + TITLE_GAP, BODY_WEIGHT, rankMap, positionMap);
+        List<PostingDto> postingDtoList = new ArrayList<>(rankMap.size());
+        rankMap.forEach((lemma, rank) -> postingDtoList.add(new PostingDto(page.getId(), lemma, rank,
+                PositionCodec.encode(positionMap.get(lemma)))));
+        return postingDtoList;
+    }
+
+    private void addTokenSpans(List<TokenSpan> tokenSpanList, int firstPosition, float weight,
+                               Map<String, Float> rankMap, Map<String, List<Integer>> positionMap) {
+        for (int i = 0; i < tokenSpanList.size(); i++) {
+            for (String lemma : tokenSpanList.get(i).lemmas()) {
+                rankMap.merge(lemma, weight, Float::sum);
+                positionMap.computeIfAbsent(lemma, key -> new ArrayList<>()).add(firstPosition + i);
+            }
+        }
+    }
+
+    private void logBadStatusCode(int code) {
+        log.debug("Bad status code - " + code);
+    }
+}
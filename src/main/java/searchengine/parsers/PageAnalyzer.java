@@ -0,0 +1,10 @@
+package searchengine.parsers;
+
+import searchengine.dto.statistics.AnalysisDto;
+import searchengine.model.Page;
+
+import java.util.List;
+
+public interface PageAnalyzer {
+    AnalysisDto analyze(List<Page> pageList) throws InterruptedException;
+}
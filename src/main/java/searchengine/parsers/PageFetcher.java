@@ -0,0 +1,16 @@
+package searchengine.parsers;
+
+import searchengine.dto.statistics.PageValidator;
+
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.ToLongFunction;
+
+public interface PageFetcher {
+    CompletableFuture<HttpResponse<byte[]>> fetch(String url, PageValidator validator,
+                                                  ToLongFunction<HttpResponse.ResponseInfo> bodyLimit);
+
+    default CompletableFuture<HttpResponse<byte[]>> fetch(String url, PageValidator validator) {
+        return fetch(url, validator, responseInfo -> Long.MAX_VALUE);
+    }
+}
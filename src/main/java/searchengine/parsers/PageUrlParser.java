@@ -1,95 +1,196 @@
 package searchengine.parsers;
 
-import org.jsoup.Connection;
-import org.jsoup.Jsoup;
-import org.jsoup.nodes.Document;
-import org.jsoup.nodes.Element;
-import org.jsoup.select.Elements;
+import searchengine.dto.statistics.HtmlDto;
 import searchengine.dto.statistics.PageDto;
-import searchengine.utils.RandomUserAgent;
+import searchengine.dto.statistics.PageValidator;
+import searchengine.utils.ContentCompressor;
+import searchengine.utils.ContentHash;
+import searchengine.utils.HtmlExtractor;
 
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.RecursiveTask;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 
-public class PageUrlParser extends RecursiveTask<List<PageDto>> {
-    private final String url;
-    private static final CopyOnWriteArrayList<String> WRITE_ARRAY_LIST = new CopyOnWriteArrayList<>();
-    private final List<String> urlList;
-    private final List<PageDto> pageDtoList;
-    private static final String CSS_QUERY = "a[href]";
-    private static final String ATTRIBUTE_KEY = "href";
+public class PageUrlParser {
+    private final BlockingQueue<PageDto> pageQueue;
+    private final UrlFrontier frontier;
+    private final CrawlScheduler crawlScheduler;
+    private final PageFetcher pageFetcher;
+    private final KnownPages knownPages;
+    private final CrawlBudget crawlBudget;
+    private final Executor executor;
+    private final Set<CompletableFuture<Void>> waitingPermits = ConcurrentHashMap.newKeySet();
+    private volatile boolean stopped;
+    private static final String CHARSET_PARAMETER = "charset=";
+    private static final int HTTP_NOT_MODIFIED = 304;
+    private static final Set<String> SKIPPED_EXTENSIONS = Set.of("pdf", "jpg", "jpeg", "png", "gif", "svg", "webp",
+            "ico", "zip", "rar", "gz", "mp3", "mp4", "avi", "doc", "docx", "xls", "xlsx", "css", "js");
 
-    public PageUrlParser(String url, List<PageDto> pageDtoList, List<String> urlList) {
-        this.url = url.trim();
-        this.pageDtoList = pageDtoList;
-        this.urlList = urlList;
+    public PageUrlParser(BlockingQueue<PageDto> pageQueue, UrlFrontier frontier, CrawlScheduler crawlScheduler,
+                         PageFetcher pageFetcher, KnownPages knownPages, CrawlBudget crawlBudget,
+                         Executor executor) {
+        this.pageQueue = pageQueue;
+        this.frontier = frontier;
+        this.crawlScheduler = crawlScheduler;
+        this.pageFetcher = pageFetcher;
+        this.knownPages = knownPages;
+        this.crawlBudget = crawlBudget;
+        this.executor = executor;
     }
 
-    @Override
-    protected List<PageDto> compute() {
+    public void submit(String url, int depth) {
+        if (stopped) {
+            frontier.complete();
+            return;
+        }
+        CompletableFuture<Void> permit = crawlScheduler.acquire(url);
+        waitingPermits.add(permit);
+        permit.whenComplete((result, e) -> {
+            waitingPermits.remove(permit);
+            if (e != null) {
+                frontier.complete();
+                return;
+            }
+            pageFetcher.fetch(url, knownPages.get(url), this::getBodyLimit)
+                    .whenComplete((response, error) -> crawlScheduler.release(url))
+                    .handleAsync((response, error) -> parse(url, depth, response, error), executor)
+                    .exceptionally(error -> {
+                        frontier.complete();
+                        return null;
+                    });
+        });
+    }
+
+    public void stop() {
+        stopped = true;
+        waitingPermits.forEach(permit -> permit.cancel(false));
+    }
+
+    private long getBodyLimit(HttpResponse.ResponseInfo responseInfo) {
+        if (!crawlBudget.allowsContentType(responseInfo.headers().firstValue("Content-Type").orElse(null))) {
+            return -1;
+        }
+        long remainingBytes = crawlBudget.getRemainingBytes();
+        long contentLength = responseInfo.headers().firstValueAsLong("Content-Length").orElse(-1);
+        return contentLength > remainingBytes ? -1 : remainingBytes;
+    }
+
+    private Void parse(String url, int depth, HttpResponse<byte[]> response, Throwable error) {
         try {
-            Connection.Response response = getResponse();
-            Document document = response.parse();
-            String html = document.outerHtml();
+            if (stopped) {
+                return null;
+            }
+            knownPages.markReached(url);
+            if (error != null) {
+                putErrorPage(url);
+                return null;
+            }
             int status = response.statusCode();
-            PageDto pageDto = new PageDto(url, html, status);
-            pageDtoList.add(pageDto);
-            Elements elements = document.select(CSS_QUERY);
-            List<PageUrlParser> taskList = new ArrayList<>();
-            for (Element element : elements) {
-                addAttributeUrl(element, taskList);
+            if (knownPages.markGone(url, status)) {
+                frontier.markDone(url);
+                return null;
+            }
+            if (status == HTTP_NOT_MODIFIED) {
+                PageValidator knownPage = knownPages.get(url);
+                if (knownPage != null) {
+                    knownPages.updateValidators(url,
+                            response.headers().firstValue("ETag").orElse(knownPage.getEtag()),
+                            response.headers().firstValue("Last-Modified").orElse(knownPage.getLastModified()));
+                }
+                frontier.markDone(url);
+                if (!crawlBudget.isExhausted()) {
+                    knownPages.getStoredLinks(url).forEach(link -> addLink(link, depth + 1));
+                }
+                return null;
+            }
+            if (response.body() == null) {
+                frontier.markDone(url);
+                return null;
+            }
+            byte[] body = response.body();
+            crawlBudget.addBytes(body.length);
+            Charset charset = HtmlExtractor.detectCharset(body, getCharset(response));
+            HtmlDto htmlDto = HtmlExtractor.extract(new String(body, charset), url);
+            String title = htmlDto.title();
+            String text = htmlDto.text();
+            String contentHash = ContentHash.of(title, text);
+            PageValidator knownPage = knownPages.get(url);
+            String etag = response.headers().firstValue("ETag").orElse(null);
+            String lastModified = response.headers().firstValue("Last-Modified").orElse(null);
+            if (knownPage == null || !Objects.equals(knownPage.getCode(), status)
+                    || !contentHash.equals(knownPage.getContentHash())) {
+                pageQueue.put(new PageDto(url, ContentCompressor.compress(body, charset), title, text, status,
+                        etag, lastModified, contentHash));
+            } else {
+                knownPages.updateValidators(url, etag, lastModified);
+                frontier.markDone(url);
             }
-            taskList.sort(Comparator.comparing(PageUrlParser::getUrl));
-            int i = 0;
-            int allTasksSize = taskList.size();
-            while (i < allTasksSize) {
-                PageUrlParser task = taskList.get(i);
-                task.join();
-                i++;
+            if (status < 400 && !crawlBudget.isExhausted()) {
+                htmlDto.linkList().forEach(link -> addLink(link, depth + 1));
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
-            PageDto pageDto = new PageDto(url, "", 500);
-            pageDtoList.add(pageDto);
+            putErrorPage(url);
+        } finally {
+            frontier.complete();
         }
-
-        sleep();
-
-        return pageDtoList;
+        return null;
     }
 
-    private void addAttributeUrl(Element element, List<PageUrlParser> taskList) {
-        String attributeUrl = element.absUrl(ATTRIBUTE_KEY);
-        if (!attributeUrl.isEmpty() && attributeUrl.startsWith(url) && !attributeUrl.contains("#") &&
-                !attributeUrl.contains(".pdf") && !attributeUrl.contains(".jpg") && !attributeUrl.contains(".JPG")
-                && !attributeUrl.contains(".png") && !WRITE_ARRAY_LIST.contains(attributeUrl) && !urlList.contains(attributeUrl)) {
-
-            WRITE_ARRAY_LIST.add(attributeUrl);
-            urlList.add(attributeUrl);
-            PageUrlParser task = new PageUrlParser(attributeUrl, pageDtoList, urlList);
-            task.fork();
-            taskList.add(task);
+    private String getCharset(HttpResponse<byte[]> response) {
+        String contentType = response.headers().firstValue("Content-Type").orElse("").toLowerCase(Locale.ROOT);
+        int start = contentType.indexOf(CHARSET_PARAMETER);
+        if (start == -1) {
+            return null;
         }
+        String charset = contentType.substring(start + CHARSET_PARAMETER.length()).split(";")[0];
+        return charset.replace("\"", "").trim();
     }
 
-    private Connection.Response getResponse() throws IOException {
-        return Jsoup.connect(url)
-                .ignoreContentType(true)
-                .userAgent(RandomUserAgent.getRandomUserAgent())
-                .execute();
-    }
-    private void sleep() {
+    private void putErrorPage(String url) {
+        if (knownPages.contains(url)) {
+            frontier.markDone(url);
+            return;
+        }
         try {
-            Thread.sleep(150);
+            pageQueue.put(new PageDto(url, new byte[0], "", "", 500, null, null, null));
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
         }
     }
 
-    public String getUrl() {
-        return url;
+    private void addLink(String link, int depth) {
+        if (hasSkippedExtension(link)) {
+            return;
+        }
+        String frontierUrl = frontier.add(link, depth);
+        if (frontierUrl != null) {
+            submit(frontierUrl, depth);
+        }
+    }
+
+    private boolean hasSkippedExtension(String link) {
+        int end = link.length();
+        int query = link.indexOf('?');
+        int fragment = link.indexOf('#');
+        if (query != -1) {
+            end = query;
+        }
+        if (fragment != -1 && fragment < end) {
+            end = fragment;
+        }
+        int slash = link.lastIndexOf('/', end - 1);
+        int dot = link.lastIndexOf('.', end - 1);
+        if (dot <= slash) {
+            return false;
+        }
+        return SKIPPED_EXTENSIONS.contains(link.substring(dot + 1, end).toLowerCase(Locale.ROOT));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,133 @@
+package searchengine.parsers;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+public class RobotsRules {
+    public static final RobotsRules ALLOW_ALL = new RobotsRules(List.of(), null, List.of());
+    private static final String ANY_AGENT = "*";
+    private final List<Rule> ruleList;
+    private final Duration crawlDelay;
+    private final List<String> sitemapList;
+
+    private RobotsRules(List<Rule> ruleList, Duration crawlDelay, List<String> sitemapList) {
+        this.ruleList = ruleList;
+        this.crawlDelay = crawlDelay;
+        this.sitemapList = sitemapList;
+    }
+
+    public static RobotsRules parse(String robots) {
+        List<Rule> ruleList = new ArrayList<>();
+        List<String> sitemapList = new ArrayList<>();
+        Duration crawlDelay = null;
+        boolean inAgentList = false;
+        boolean groupMatches = false;
+        for (String line : robots.split("\r?\n|\r")) {
+            int comment = line.indexOf('#');
+            String content = (comment == -1 ? line : line.substring(0, comment)).trim();
+            int colon = content.indexOf(':');
+            if (colon == -1) {
+                continue;
+            }
+            String field = content.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+            String value = content.substring(colon + 1).trim();
+            if (field.equals("user-agent")) {
+                if (!inAgentList) {
+                    groupMatches = false;
+                }
+                inAgentList = true;
+                groupMatches |= value.equals(ANY_AGENT);
+                continue;
+            }
+            inAgentList = false;
+            switch (field) {
+                case "sitemap" -> sitemapList.add(value);
+                case "allow", "disallow" -> {
+                    if (groupMatches && !value.isEmpty()) {
+                        ruleList.add(new Rule(value, field.equals("allow")));
+                    }
+                }
+                case "crawl-delay" -> {
+                    if (groupMatches) {
+                        crawlDelay = parseDelay(value, crawlDelay);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        return new RobotsRules(ruleList, crawlDelay, sitemapList);
+    }
+
+    public boolean isAllowed(String url) {
+        String path = getPath(url);
+        Rule bestRule = null;
+        for (Rule rule : ruleList) {
+            if (rule.matches(path) && (bestRule == null || rule.length() > bestRule.length()
+                    || (rule.length() == bestRule.length() && rule.allow()))) {
+                bestRule = rule;
+            }
+        }
+        return bestRule == null || bestRule.allow();
+    }
+
+    public Duration getCrawlDelay() {
+        return crawlDelay;
+    }
+
+    public List<String> getSitemapList() {
+        return sitemapList;
+    }
+
+    private static Duration parseDelay(String value, Duration defaultDelay) {
+        try {
+            return Duration.ofMillis((long) (Double.parseDouble(value) * 1000));
+        } catch (NumberFormatException e) {
+            return defaultDelay;
+        }
+    }
+
+    private static String getPath(String url) {
+        try {
+            URI uri = new URI(url);
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            return uri.getRawQuery() == null ? path : path + "?" + uri.getRawQuery();
+        } catch (Exception e) {
+            return url;
+        }
+    }
+
+    private record Rule(String value, boolean allow, Pattern pattern) {
+        Rule(String value, boolean allow) {
+            this(value, allow, compile(value));
+        }
+
+        boolean matches(String path) {
+            return pattern.matcher(path).lookingAt();
+        }
+
+        int length() {
+            return value.length();
+        }
+
+        private static Pattern compile(String value) {
+            boolean anchored = value.endsWith("$");
+            String body = anchored ? value.substring(0, value.length() - 1) : value;
+            StringBuilder regex = new StringBuilder();
+            for (String part : body.split("\\*", -1)) {
+                if (regex.length() > 0) {
+                    regex.append(".*");
+                }
+                regex.append(Pattern.quote(part));
+            }
+            if (anchored) {
+                regex.append('$');
+            }
+            return Pattern.compile(regex.toString());
+        }
+    }
+}
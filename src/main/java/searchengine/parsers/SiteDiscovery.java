@@ -0,0 +1,148 @@
+package searchengine.parsers;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.zip.GZIPInputStream;
+
+@Slf4j
+@RequiredArgsConstructor
+public class SiteDiscovery {
+    private static final int HTTP_OK = 200;
+    private static final int MAX_SITEMAPS = 50;
+    private static final int MAX_SITEMAP_URLS = 100_000;
+    private final CrawlScheduler crawlScheduler;
+    private final PageFetcher pageFetcher;
+
+    public RobotsRules readRobots(String rootUrl) throws InterruptedException {
+        byte[] robots = fetch(rootUrl + "robots.txt");
+        return robots == null ? RobotsRules.ALLOW_ALL : RobotsRules.parse(new String(robots, StandardCharsets.UTF_8));
+    }
+
+    public List<String> readSitemaps(String rootUrl, RobotsRules robotsRules) throws InterruptedException {
+        Deque<String> sitemapQueue = new ArrayDeque<>(robotsRules.getSitemapList());
+        if (sitemapQueue.isEmpty()) {
+            sitemapQueue.add(rootUrl + "sitemap.xml");
+        }
+        Set<String> readSitemaps = new HashSet<>();
+        Map<String, Long> pageMap = new HashMap<>();
+        while (!sitemapQueue.isEmpty() && readSitemaps.size() < MAX_SITEMAPS && pageMap.size() < MAX_SITEMAP_URLS) {
+            String sitemapUrl = sitemapQueue.poll();
+            if (!readSitemaps.add(sitemapUrl)) {
+                continue;
+            }
+            byte[] sitemap = fetch(sitemapUrl);
+            if (sitemap != null) {
+                readSitemap(sitemapUrl, sitemap, sitemapQueue, pageMap);
+            }
+        }
+        List<Map.Entry<String, Long>> pageList = new ArrayList<>(pageMap.entrySet());
+        pageList.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        log.info("{}: из карт сайта получено ссылок {}", rootUrl, pageList.size());
+        return pageList.stream().map(Map.Entry::getKey).toList();
+    }
+
+    private void readSitemap(String sitemapUrl, byte[] sitemap, Deque<String> sitemapQueue,
+                             Map<String, Long> pageMap) {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        try (InputStream input = open(sitemap)) {
+            XMLStreamReader reader = factory.createXMLStreamReader(input);
+            boolean sitemapIndex = false;
+            String loc = null;
+            long lastModified = 0;
+            while (reader.hasNext() && pageMap.size() < MAX_SITEMAP_URLS) {
+                int event = reader.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    switch (reader.getLocalName()) {
+                        case "sitemapindex" -> sitemapIndex = true;
+                        case "loc" -> loc = reader.getElementText().trim();
+                        case "lastmod" -> lastModified = parseLastModified(reader.getElementText().trim());
+                        default -> {
+                        }
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && loc != null
+                        && (reader.getLocalName().equals("url") || reader.getLocalName().equals("sitemap"))) {
+                    if (sitemapIndex) {
+                        sitemapQueue.add(loc);
+                    } else {
+                        pageMap.merge(loc, lastModified, Math::max);
+                    }
+                    loc = null;
+                    lastModified = 0;
+                }
+            }
+            reader.close();
+        } catch (IOException | XMLStreamException e) {
+            log.debug("Не удалось прочитать карту сайта {}: {}", sitemapUrl, e.getMessage());
+        }
+    }
+
+    private InputStream open(byte[] data) throws IOException {
+        InputStream input = new ByteArrayInputStream(data);
+        if (data.length > 1 && (data[0] & 0xFF) == 0x1F && (data[1] & 0xFF) == 0x8B) {
+            return new GZIPInputStream(input);
+        }
+        return input;
+    }
+
+    private long parseLastModified(String lastModified) {
+        try {
+            return OffsetDateTime.parse(lastModified).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(lastModified.length() > 10 ? lastModified.substring(0, 10) : lastModified)
+                        .atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+            } catch (DateTimeParseException ex) {
+                return 0;
+            }
+        }
+    }
+
+    private byte[] fetch(String url) throws InterruptedException {
+        try {
+            acquirePermit(url);
+        } catch (IllegalArgumentException | ExecutionException e) {
+            log.debug("Не удалось загрузить {}: {}", url, e.getMessage());
+            return null;
+        }
+        try {
+            HttpResponse<byte[]> response = pageFetcher.fetch(url, null)
+                    .whenComplete((result, error) -> crawlScheduler.release(url))
+                    .get();
+            return response.statusCode() == HTTP_OK ? response.body() : null;
+        } catch (ExecutionException e) {
+            log.debug("Не удалось загрузить {}: {}", url, e.getCause().getMessage());
+            return null;
+        }
+    }
+
+    private void acquirePermit(String url) throws InterruptedException, ExecutionException {
+        CompletableFuture<Void> permit = crawlScheduler.acquire(url);
+        try {
+            permit.get();
+        } catch (InterruptedException e) {
+            if (!permit.cancel(false)) {
+                crawlScheduler.release(url);
+            }
+            throw e;
+        }
+    }
+}
@@ -1,115 +1,211 @@
 package searchengine.parsers;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import searchengine.config.CrawlerSettings;
 import searchengine.config.SitesList;
-import searchengine.dto.statistics.IndexDto;
-import searchengine.dto.statistics.LemmaDto;
+import searchengine.dto.statistics.AnalysisDto;
 import searchengine.dto.statistics.PageDto;
-import searchengine.exception.NoLemmasPageException;
+import searchengine.dto.statistics.PageValidator;
+import searchengine.dto.statistics.ValidatorDto;
 import searchengine.model.*;
-import searchengine.repositories.IndexRepository;
-import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageContentRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
+import searchengine.search.InvertedIndex;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ForkJoinPool;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
 
+@Slf4j
 @RequiredArgsConstructor
 public class SiteIndexed implements Runnable {
 
-    private static final int PROCESSOR_CORE_COUNT = Runtime.getRuntime().availableProcessors();
-    private final PageRepository pageRepository;
+    private static final int PAGE_QUEUE_CAPACITY = 500;
+    private static final int ANALYSIS_QUEUE_CAPACITY = 4;
+    private static final int BATCH_SIZE = 100;
+    private static final long POLL_TIMEOUT_MS = 500;
+    private static final CrawlBatch END_OF_PAGES = new CrawlBatch(List.of(),
+            new AnalysisDto(List.of(), List.of(), List.of()));
     private final SiteRepository siteRepository;
-    private final LemmaRepository lemmaRepository;
-    private final IndexRepository indexRepository;
-    private final LemmaParser lemmaParser;
-    private final IndexParser indexParser;
+    private final PageRepository pageRepository;
+    private final PageContentRepository pageContentRepository;
+    private final PageAnalyzer pageAnalyzer;
+    private final IndexWriter indexWriter;
+    private final InvertedIndex invertedIndex;
+    private final CrawlScheduler crawlScheduler;
+    private final PageFetcher pageFetcher;
+    private final CrawlerSettings crawlerSettings;
     private final String url;
     private final SitesList sitesList;
+    private final BlockingQueue<PageDto> pageQueue = new ArrayBlockingQueue<>(PAGE_QUEUE_CAPACITY);
+    private final BlockingQueue<CrawlBatch> analysisQueue = new ArrayBlockingQueue<>(ANALYSIS_QUEUE_CAPACITY);
+    private UrlFrontier frontier;
+    private CrawlCheckpoint checkpoint;
+    private KnownPages knownPages;
+    private boolean incremental;
 
 
     @Override
     public void run() {
-        saveDateSite();
+        Site existingSite = siteRepository.findByUrl(url);
+        incremental = existingSite != null;
+        if (incremental) {
+            restartSite(existingSite);
+        } else {
+            saveDateSite();
+        }
+        Site site = siteRepository.findByUrl(url);
+        knownPages = new KnownPages(incremental ? getKnownPages(site) : Map.of(), pageContentRepository);
+        ExecutorService parseExecutor = Executors.newFixedThreadPool(crawlerSettings.getParseThreads());
+        ExecutorService analyzeExecutor = Executors.newSingleThreadExecutor();
+        PageUrlParser pageUrlParser = null;
         try {
-            List<PageDto> pageDtoList = getPageDtoList();
-            saveToBase(pageDtoList);
-            getLemmasPage();
-            indexingWords();
+            SiteDiscovery siteDiscovery = new SiteDiscovery(crawlScheduler, pageFetcher);
+            RobotsRules robotsRules = siteDiscovery.readRobots(url + "/");
+            if (robotsRules.getCrawlDelay() != null) {
+                crawlScheduler.setMinCrawlDelay(url, robotsRules.getCrawlDelay());
+            }
+            List<String> sitemapUrls = siteDiscovery.readSitemaps(url + "/", robotsRules);
+            checkpoint = new CrawlCheckpoint(Path.of(crawlerSettings.getCheckpointDir()), url);
+            CrawlBudget crawlBudget = new CrawlBudget(getSiteConfig());
+            frontier = new UrlFrontier(url + "/", robotsRules, crawlBudget, checkpoint);
+            frontier.restore(checkpoint.getDoneUrls());
+            knownPages.markReached(checkpoint.getDoneUrls());
+            pageUrlParser = new PageUrlParser(pageQueue, frontier, crawlScheduler, pageFetcher, knownPages,
+                    crawlBudget, parseExecutor);
+            Future<Void> crawlTask = frontier.getDrained();
+            submitSeedUrls(pageUrlParser, sitemapUrls, knownPages.getUrls());
+            Future<?> analyzeTask = analyzeExecutor.submit(() -> {
+                analyzePages(site, crawlTask);
+                return null;
+            });
+            persistAnalysis(site);
+            analyzeTask.get();
+            if (incremental) {
+                indexWriter.removePages(site, knownPages.getRemovedPageIds());
+                invertedIndex.loadSite(site);
+            }
+            indexedSite(site);
+            checkpoint.delete();
+        } catch (IOException e) {
+            errorSite("Ошибка контрольной точки: " + e.getMessage());
         } catch (InterruptedException e) {
-            errorSite();
+            errorSite("Индексация остановлена");
             Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            errorSite("Ошибка индексации: " + e.getCause().getMessage());
+        } catch (RuntimeException e) {
+            errorSite("Ошибка индексации: " + e.getMessage());
+        } finally {
+            if (pageUrlParser != null) {
+                pageUrlParser.stop();
+            }
+            if (checkpoint != null) {
+                checkpoint.close();
+            }
+            parseExecutor.shutdownNow();
+            analyzeExecutor.shutdownNow();
         }
     }
 
-    private List<PageDto> getPageDtoList() throws InterruptedException {
-        if (!Thread.interrupted()) {
-            String urlFormat = url + "/";
-            List<PageDto> pageDtoVector = new ArrayList<>();
-            List<String> urlList = new ArrayList<>();
-            ForkJoinPool forkJoinPool = new ForkJoinPool(PROCESSOR_CORE_COUNT);
-            List<PageDto> pages = forkJoinPool.invoke(new PageUrlParser(urlFormat, pageDtoVector, urlList));
-            return new CopyOnWriteArrayList<>(pages);
-        } else throw new InterruptedException();
+    private void submitSeedUrls(PageUrlParser pageUrlParser, List<String> sitemapUrls,
+                                Collection<String> knownUrls) {
+        List<String> seedUrls = new ArrayList<>();
+        addSeedUrl(seedUrls, url + "/");
+        checkpoint.getPendingUrls().forEach(pendingUrl -> addSeedUrl(seedUrls, pendingUrl));
+        sitemapUrls.forEach(sitemapUrl -> addSeedUrl(seedUrls, sitemapUrl));
+        knownUrls.forEach(knownUrl -> addSeedUrl(seedUrls, knownUrl));
+        seedUrls.forEach(seedUrl -> pageUrlParser.submit(seedUrl, 0));
+        frontier.checkDrained();
+    }
+
+    private void addSeedUrl(List<String> seedUrls, String seedUrl) {
+        String frontierUrl = frontier.add(seedUrl, 0);
+        if (frontierUrl != null) {
+            seedUrls.add(frontierUrl);
+        }
     }
 
-    private void saveToBase(List<PageDto> pages) throws InterruptedException {
-        if (!Thread.interrupted()) {
-            Site site = siteRepository.findByUrl(url);
-            List<Page> pageList = new ArrayList<>(pages.size());
-            for (PageDto page : pages) {
-                int start = page.url().indexOf(url) + url.length();
-                String pageFormat = page.url().substring(start);
-                pageList.add(new Page(site, pageFormat, page.code(), page.content()));
+    private void analyzePages(Site site, Future<Void> crawlTask) throws InterruptedException {
+        try {
+            List<PageDto> batch = new ArrayList<>(BATCH_SIZE);
+            while (!crawlTask.isDone() || !pageQueue.isEmpty()) {
+                PageDto pageDto = pageQueue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+                if (pageDto != null) {
+                    batch.add(pageDto);
+                }
+                if (batch.size() >= BATCH_SIZE || (pageDto == null && !batch.isEmpty())) {
+                    analyzeBatch(site, batch);
+                    batch = new ArrayList<>(BATCH_SIZE);
+                }
+                if (pageDto == null) {
+                    saveValidators();
+                }
             }
-            pageRepository.saveAll(pageList);
-            pageRepository.flush();
-        } else {
-            throw new InterruptedException();
+            if (!batch.isEmpty()) {
+                analyzeBatch(site, batch);
+            }
+            saveValidators();
+        } finally {
+            analysisQueue.put(END_OF_PAGES);
+        }
+    }
+
+    private void analyzeBatch(Site site, List<PageDto> batch) throws InterruptedException {
+        List<Page> pageList = indexWriter.savePages(site, batch);
+        List<String> urlList = batch.stream().map(PageDto::url).toList();
+        analysisQueue.put(new CrawlBatch(urlList, pageAnalyzer.analyze(pageList)));
+        log.info("{}: найдено ссылок {}, в очереди обхода {}", url, frontier.getVisitedCount(), frontier.getPendingCount());
+    }
+
+    private void saveValidators() {
+        List<ValidatorDto> validatorList = knownPages.pollChangedValidators();
+        if (!validatorList.isEmpty()) {
+            indexWriter.saveValidators(validatorList);
         }
     }
 
-    private void getLemmasPage() {
-        if (!Thread.interrupted()) {
-            Site siteEntity = siteRepository.findByUrl(url);
-            siteEntity.setStatusTime(new Date());
-            lemmaParser.run(siteEntity);
-            List<LemmaDto> lemmaDtoList = lemmaParser.getLemmaDtoList();
-            List<Lemma> lemmaList = new ArrayList<>(lemmaDtoList.size());
-            for (LemmaDto lemmaDto : lemmaDtoList) {
-                lemmaList.add(new Lemma(lemmaDto.lemma(), lemmaDto.frequency(), siteEntity));
+    private void persistAnalysis(Site site) throws InterruptedException {
+        while (true) {
+            CrawlBatch crawlBatch = analysisQueue.take();
+            if (crawlBatch == END_OF_PAGES) {
+                return;
             }
-            lemmaRepository.saveAll(lemmaList);
-            lemmaRepository.flush();
-        } else {
-            throw new NoLemmasPageException();
+            AnalysisDto analysisDto = crawlBatch.analysisDto();
+            indexWriter.saveAnalysis(site, analysisDto);
+            if (!incremental) {
+                invertedIndex.addPostings(site.getId(), analysisDto.postingDtoList());
+            }
+            crawlBatch.urlList().forEach(frontier::markDone);
+            checkpoint.flush();
         }
     }
 
-    private void indexingWords() throws InterruptedException {
-        if (!Thread.interrupted()) {
-            Site site = siteRepository.findByUrl(url);
-            indexParser.run(site);
-            List<IndexDto> indexDtoList = indexParser.getIndexList();
-            List<Index> indexList = new ArrayList<>(indexDtoList.size());
-            site.setStatusTime(new Date());
-            for (IndexDto indexDto : indexDtoList) {
-                Page page = pageRepository.getReferenceById(indexDto.pageID());
-                Lemma lemma = lemmaRepository.getReferenceById(indexDto.lemmaID());
-                indexList.add(new Index(page, lemma, indexDto.rank()));
+    private void indexedSite(Site site) {
+        site.setStatusTime(new Date());
+        site.setStatus(Status.INDEXED);
+        siteRepository.save(site);
+    }
+
+    private Map<String, PageValidator> getKnownPages(Site site) {
+        Map<String, PageValidator> knownPages = new HashMap<>();
+        for (PageValidator validator : pageRepository.findValidatorsBySite(site)) {
+            String pageUrl = UrlFrontier.normalize(url + validator.getPath());
+            if (pageUrl != null) {
+                knownPages.put(pageUrl, validator);
             }
-            indexRepository.saveAll(indexList);
-            indexRepository.flush();
-            site.setStatusTime(new Date());
-            site.setStatus(Status.INDEXED);
-            siteRepository.save(site);
-        } else {
-            throw new InterruptedException();
         }
+        return knownPages;
+    }
+
+    private void restartSite(Site site) {
+        site.setStatus(Status.INDEXING);
+        site.setLastError(null);
+        site.setStatusTime(new Date());
+        siteRepository.save(site);
     }
 
     private void saveDateSite() {
@@ -122,9 +218,9 @@ public class SiteIndexed implements Runnable {
         siteRepository.save(site);
     }
 
-    private void errorSite() {
-        Site site = new Site();
-        site.setLastError("Индексация остановлена");
+    private void errorSite(String error) {
+        Site site = siteRepository.findByUrl(url);
+        site.setLastError(error);
         site.setStatus(Status.FAILED);
         site.setStatusTime(new Date());
         siteRepository.save(site);
@@ -139,5 +235,18 @@ public class SiteIndexed implements Runnable {
         }
         return "";
     }
-}
 
+    private searchengine.config.Site getSiteConfig() {
+        for (searchengine.config.Site map : sitesList.getSites()) {
+            if (map.getUrl().equals(url)) {
+                return map;
+            }
+        }
+        searchengine.config.Site siteConfig = new searchengine.config.Site();
+        siteConfig.setUrl(url);
+        return siteConfig;
+    }
+
+    private record CrawlBatch(List<String> urlList, AnalysisDto analysisDto) {
+    }
+}
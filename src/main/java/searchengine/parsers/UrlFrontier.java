@@ -0,0 +1,152 @@
+package searchengine.parsers;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class UrlFrontier {
+    private static final int MAX_URL_LENGTH = 500;
+    private static final int MAX_PATH_SEGMENTS = 30;
+    private static final int MAX_SEGMENT_REPEATS = 3;
+    private static final Set<String> TRACKING_PARAMETERS = Set.of("gclid", "dclid", "fbclid", "yclid", "ysclid",
+            "msclkid", "igshid", "_openstat", "mc_cid", "mc_eid", "jsessionid", "phpsessid", "sid");
+    private final String rootUrl;
+    private final RobotsRules robotsRules;
+    private final CrawlBudget crawlBudget;
+    private final CrawlCheckpoint checkpoint;
+    private final Set<String> visitedUrls = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicInteger acceptedCount = new AtomicInteger();
+    private final CompletableFuture<Void> drained = new CompletableFuture<>();
+
+    public UrlFrontier(String rootUrl, RobotsRules robotsRules, CrawlBudget crawlBudget, CrawlCheckpoint checkpoint) {
+        String normalizedRoot = normalize(rootUrl);
+        this.rootUrl = normalizedRoot == null ? rootUrl : normalizedRoot;
+        this.robotsRules = robotsRules;
+        this.crawlBudget = crawlBudget;
+        this.checkpoint = checkpoint;
+    }
+
+    public void restore(Collection<String> doneUrls) {
+        visitedUrls.addAll(doneUrls);
+        acceptedCount.addAndGet(doneUrls.size());
+    }
+
+    public String add(String url, int depth) {
+        if (!crawlBudget.allowsDepth(depth)) {
+            return null;
+        }
+        String normalizedUrl = normalize(url);
+        if (normalizedUrl == null || !normalizedUrl.startsWith(rootUrl) || isTrap(normalizedUrl)
+                || !robotsRules.isAllowed(normalizedUrl) || !visitedUrls.add(normalizedUrl)
+                || !crawlBudget.allowsPages(acceptedCount.incrementAndGet())) {
+            return null;
+        }
+        pendingCount.incrementAndGet();
+        checkpoint.discovered(normalizedUrl);
+        return normalizedUrl;
+    }
+
+    public void markDone(String url) {
+        checkpoint.done(url);
+    }
+
+    public void complete() {
+        if (pendingCount.decrementAndGet() == 0) {
+            drained.complete(null);
+        }
+    }
+
+    public void checkDrained() {
+        if (pendingCount.get() == 0) {
+            drained.complete(null);
+        }
+    }
+
+    public CompletableFuture<Void> getDrained() {
+        return drained;
+    }
+
+    public int getVisitedCount() {
+        return visitedUrls.size();
+    }
+
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    public static String normalize(String url) {
+        try {
+            URI uri = new URI(url.trim()).normalize();
+            String scheme = uri.getScheme();
+            String host = uri.getHost();
+            if (scheme == null || host == null) {
+                return null;
+            }
+            scheme = scheme.toLowerCase(Locale.ROOT);
+            int port = uri.getPort();
+            if ((scheme.equals("http") && port == 80) || (scheme.equals("https") && port == 443)) {
+                port = -1;
+            }
+            String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+            int pathParameters = path.toLowerCase(Locale.ROOT).indexOf(";jsessionid=");
+            if (pathParameters != -1) {
+                path = path.substring(0, pathParameters);
+            }
+            String query = canonicalizeQuery(uri.getRawQuery());
+            StringBuilder result = new StringBuilder(url.length());
+            result.append(scheme).append("://").append(host.toLowerCase(Locale.ROOT));
+            if (port != -1) {
+                result.append(':').append(port);
+            }
+            result.append(path);
+            if (query != null) {
+                result.append('?').append(query);
+            }
+            return result.toString();
+        } catch (URISyntaxException e) {
+            return null;
+        }
+    }
+
+    private static String canonicalizeQuery(String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return null;
+        }
+        List<String> parameterList = new ArrayList<>();
+        for (String parameter : rawQuery.split("&")) {
+            int separator = parameter.indexOf('=');
+            String name = (separator == -1 ? parameter : parameter.substring(0, separator)).toLowerCase(Locale.ROOT);
+            if (!parameter.isEmpty() && !name.startsWith("utm_") && !TRACKING_PARAMETERS.contains(name)) {
+                parameterList.add(parameter);
+            }
+        }
+        if (parameterList.isEmpty()) {
+            return null;
+        }
+        Collections.sort(parameterList);
+        return String.join("&", parameterList);
+    }
+
+    private boolean isTrap(String url) {
+        if (url.length() - rootUrl.length() > MAX_URL_LENGTH) {
+            return true;
+        }
+        int queryStart = url.indexOf('?');
+        String path = url.substring(rootUrl.length() - 1, queryStart == -1 ? url.length() : queryStart);
+        String[] segments = path.split("/");
+        if (segments.length > MAX_PATH_SEGMENTS) {
+            return true;
+        }
+        Map<String, Integer> segmentCountMap = new HashMap<>();
+        for (String segment : segments) {
+            if (!segment.isEmpty() && segmentCountMap.merge(segment, 1, Integer::sum) > MAX_SEGMENT_REPEATS) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
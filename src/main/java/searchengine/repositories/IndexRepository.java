@@ -1,26 +1,29 @@
 package searchengine.repositories;
 
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import searchengine.dto.statistics.IndexPosting;
 import searchengine.model.Index;
-import searchengine.model.Lemma;
-import searchengine.model.Page;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Repository
 public interface IndexRepository extends JpaRepository<Index, Long> {
 
-    @Cacheable("indexesByLemmasAndPages")
-    default List<Index> findByPagesAndLemmas(List<Lemma> lemmaList, List<Page> pageList) {
-        Set<Long> lemmaIds = lemmaList.stream().map(Lemma::getId).collect(Collectors.toSet());
-        Set<Long> pageIds = pageList.stream().map(Page::getId).collect(Collectors.toSet());
+    @EntityGraph(attributePaths = "lemma")
+    List<Index> findByPageIdIn(Collection<Long> pageIds);
 
-        return findAllByLemmaIdInAndPageIdIn(lemmaIds, pageIds);
-    }
-
-    List<Index> findAllByLemmaIdInAndPageIdIn(Set<Long> lemmaIds, Set<Long> pageIds);
-}
\ No newline at end of file
+    @Query(value = "SELECT l.id AS lemmaId, l.lemma AS lemma, i.page_id AS pageId, i.index_rank AS indexRank, " +
+            "i.positions AS positions " +
+            "FROM words_index i JOIN lemma l ON l.id = i.lemma_id WHERE l.site_id = :site " +
+            "AND (i.lemma_id > :lemmaId OR (i.lemma_id = :lemmaId AND i.page_id > :pageId)) " +
+            "ORDER BY i.lemma_id, i.page_id LIMIT :size", nativeQuery = true)
+    List<IndexPosting> findPostingsBySiteAfter(@Param("site") long siteId,
+                                               @Param("lemmaId") long lemmaId,
+                                               @Param("pageId") long pageId,
+                                               @Param("size") int size);
+}
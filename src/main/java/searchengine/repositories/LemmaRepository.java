@@ -1,20 +1,16 @@
 package searchengine.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import searchengine.model.Lemma;
 import searchengine.model.Site;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LemmaRepository extends JpaRepository<Lemma, Long> {
     long countBySiteEntityId(Site site);
 
-    List<Lemma> findBySiteEntityId(Site siteId);
-    @Query(value = "SELECT l.* FROM Lemma l WHERE l.lemma IN :lemmas AND l.site_id = :site", nativeQuery = true)
-    List<Lemma> findLemmaListBySite(@Param("lemmas") List<String> lemmaList,
-                                    @Param("site") Site site);
+    List<Lemma> findBySiteEntityIdAndLemmaIn(Site site, Collection<String> lemmas);
 }
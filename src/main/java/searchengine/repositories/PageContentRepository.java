@@ -0,0 +1,9 @@
+package searchengine.repositories;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import searchengine.model.PageContent;
+
+@Repository
+public interface PageContentRepository extends JpaRepository<PageContent, Long> {
+}
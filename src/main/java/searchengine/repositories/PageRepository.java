@@ -1,22 +1,29 @@
 package searchengine.repositories;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import searchengine.model.Lemma;
+import searchengine.dto.statistics.PageValidator;
 import searchengine.model.Page;
 import searchengine.model.Site;
 
 import java.util.Collection;
-import java.util.Set;
+import java.util.List;
 
 @Repository
 public interface PageRepository extends JpaRepository<Page, Long> {
     long countBySiteId(Site site);
 
-    Iterable<Page> findBySiteId(Site site);
+    List<Page> findBySiteIdAndPathIn(Site site, Collection<String> paths);
 
-    @Query(value = "SELECT DISTINCT p.* FROM Page p JOIN Words_index i ON p.id = i.page_id WHERE i.lemma_id IN :lemmas", nativeQuery = true)
-    Set<Page> findByLemmaList(@Param("lemmas") Collection<Lemma> lemmaList);
+    @Query("SELECT p.id AS id, p.path AS path, p.code AS code, p.etag AS etag, p.lastModified AS lastModified, " +
+            "p.contentHash AS contentHash FROM Page p WHERE p.siteId = :site")
+    List<PageValidator> findValidatorsBySite(@Param("site") Site site);
+
+    @Modifying
+    @Query("UPDATE Page p SET p.etag = :etag, p.lastModified = :lastModified WHERE p.id = :id")
+    void updateValidators(@Param("id") long id, @Param("etag") String etag,
+                          @Param("lastModified") String lastModified);
 }
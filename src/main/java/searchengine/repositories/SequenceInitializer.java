@@ -0,0 +1,37 @@
+package searchengine.repositories;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import searchengine.model.Index;
+import searchengine.model.Lemma;
+import searchengine.model.Page;
+
+import javax.annotation.PostConstruct;
+
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class SequenceInitializer {
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void initialize() {
+        alignSequence("page_sequence", "page", Page.ID_ALLOCATION_SIZE);
+        alignSequence("lemma_sequence", "lemma", Lemma.ID_ALLOCATION_SIZE);
+        alignSequence("words_index_sequence", "words_index", Index.ID_ALLOCATION_SIZE);
+    }
+
+    private void alignSequence(String sequenceTable, String table, int allocationSize) {
+        int updated = jdbcTemplate.update("UPDATE " + sequenceTable + " SET next_val = GREATEST(next_val, " +
+                "(SELECT COALESCE(MAX(id), 0) + ? FROM " + table + "))", allocationSize);
+        if (updated == 0) {
+            jdbcTemplate.update("INSERT INTO " + sequenceTable + " (next_val) SELECT COALESCE(MAX(id), 0) + ? FROM "
+                    + table, allocationSize);
+        }
+        log.info("Последовательность {} выровнена по таблице {}", sequenceTable, table);
+    }
+}
@@ -0,0 +1,78 @@
+package searchengine.search;
+
+import searchengine.dto.statistics.PostingDto;
+
+import java.util.*;
+
+public class IndexSegment {
+    private final Map<String, PostingList> lemmaMap;
+    private final long postingCount;
+
+    public IndexSegment(Map<String, PostingList> lemmaMap) {
+        this.lemmaMap = lemmaMap;
+        this.postingCount = lemmaMap.values().stream().mapToLong(PostingList::size).sum();
+    }
+
+    public static IndexSegment of(List<PostingDto> postingDtoList) {
+        Map<String, List<PostingDto>> lemmaPostings = new HashMap<>();
+        for (PostingDto postingDto : postingDtoList) {
+            lemmaPostings.computeIfAbsent(postingDto.lemma(), lemma -> new ArrayList<>()).add(postingDto);
+        }
+        Map<String, PostingList> lemmaMap = new HashMap<>(lemmaPostings.size());
+        for (Map.Entry<String, List<PostingDto>> entry : lemmaPostings.entrySet()) {
+            List<PostingDto> postings = entry.getValue();
+            postings.sort(Comparator.comparingLong(PostingDto::pageId));
+            PostingList.Builder builder = new PostingList.Builder(entry.getKey());
+            for (PostingDto posting : postings) {
+                builder.add(posting.pageId(), posting.rank(), posting.positions());
+            }
+            lemmaMap.put(entry.getKey(), builder.build());
+        }
+        return new IndexSegment(lemmaMap);
+    }
+
+    public static IndexSegment merge(IndexSegment older, IndexSegment newer) {
+        Map<String, PostingList> lemmaMap = new HashMap<>(older.lemmaMap);
+        for (Map.Entry<String, PostingList> entry : newer.lemmaMap.entrySet()) {
+            PostingList olderList = lemmaMap.get(entry.getKey());
+            lemmaMap.put(entry.getKey(), olderList == null ? entry.getValue() : merge(olderList, entry.getValue()));
+        }
+        return new IndexSegment(lemmaMap);
+    }
+
+    public long getPostingCount() {
+        return postingCount;
+    }
+
+    public List<PostingList> getPostingLists(Collection<String> lemmas) {
+        List<PostingList> result = new ArrayList<>();
+        for (String lemma : lemmas) {
+            PostingList postingList = lemmaMap.get(lemma);
+            if (postingList != null) {
+                result.add(postingList);
+            }
+        }
+        return result;
+    }
+
+    private static PostingList merge(PostingList older, PostingList newer) {
+        PostingList.Builder builder = new PostingList.Builder(newer.getLemma());
+        PostingList.Cursor olderCursor = older.cursor();
+        PostingList.Cursor newerCursor = newer.cursor();
+        boolean hasOlder = olderCursor.next();
+        boolean hasNewer = newerCursor.next();
+        while (hasOlder || hasNewer) {
+            if (hasOlder && (!hasNewer || olderCursor.pageId() < newerCursor.pageId())) {
+                builder.add(olderCursor);
+                hasOlder = olderCursor.next();
+            } else {
+                if (hasOlder && olderCursor.pageId() == newerCursor.pageId()) {
+                    hasOlder = olderCursor.next();
+                }
+                builder.add(newerCursor);
+                hasNewer = newerCursor.next();
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,14 @@
+package searchengine.search;
+
+import searchengine.dto.statistics.PostingDto;
+import searchengine.model.Site;
+
+import java.util.List;
+
+public interface InvertedIndex {
+    void loadSite(Site site);
+    void addPostings(long siteId, List<PostingDto> postingDtoList);
+    void removeSite(long siteId);
+    List<IndexSegment> getSegments(long siteId);
+    long getGeneration(long siteId);
+}
@@ -0,0 +1,109 @@
+package searchengine.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import searchengine.dto.statistics.IndexPosting;
+import searchengine.dto.statistics.PostingDto;
+import searchengine.model.Site;
+import searchengine.model.Status;
+import searchengine.repositories.IndexRepository;
+import searchengine.repositories.SiteRepository;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InvertedIndexStorage implements InvertedIndex {
+    private static final int MERGE_FACTOR = 2;
+    private static final int LOAD_CHUNK_SIZE = 10_000;
+    private final IndexRepository indexRepository;
+    private final SiteRepository siteRepository;
+    private final Map<Long, List<IndexSegment>> siteSegmentMap = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> generationMap = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAll() {
+        for (Site site : siteRepository.findAll()) {
+            if (site.getStatus() == Status.INDEXED) {
+                loadSite(site);
+            }
+        }
+    }
+
+    @Override
+    public void loadSite(Site site) {
+        Map<String, PostingList> lemmaMap = new HashMap<>();
+        PostingList.Builder builder = null;
+        long lemmaId = -1;
+        long pageId = -1;
+        long postingCount = 0;
+        List<IndexPosting> chunk;
+        do {
+            chunk = indexRepository.findPostingsBySiteAfter(site.getId(), lemmaId, pageId, LOAD_CHUNK_SIZE);
+            for (IndexPosting posting : chunk) {
+                if (builder == null || posting.getLemmaId() != lemmaId) {
+                    if (builder != null) {
+                        lemmaMap.put(builder.getLemma(), builder.build());
+                    }
+                    lemmaId = posting.getLemmaId();
+                    builder = new PostingList.Builder(posting.getLemma());
+                }
+                pageId = posting.getPageId();
+                builder.add(pageId, posting.getIndexRank(), posting.getPositions());
+            }
+            postingCount += chunk.size();
+        } while (chunk.size() == LOAD_CHUNK_SIZE);
+        if (builder != null) {
+            lemmaMap.put(builder.getLemma(), builder.build());
+        }
+        siteSegmentMap.put(site.getId(), List.of(new IndexSegment(lemmaMap)));
+        nextGeneration(site.getId());
+        log.info("Загружен индекс сайта {}: {} лемм, {} записей", site.getUrl(), lemmaMap.size(), postingCount);
+    }
+
+    @Override
+    public void addPostings(long siteId, List<PostingDto> postingDtoList) {
+        if (postingDtoList.isEmpty()) {
+            return;
+        }
+        IndexSegment newSegment = IndexSegment.of(postingDtoList);
+        siteSegmentMap.compute(siteId, (id, segments) -> {
+            Deque<IndexSegment> segmentStack = segments == null ? new ArrayDeque<>() : new ArrayDeque<>(segments);
+            IndexSegment segment = newSegment;
+            while (!segmentStack.isEmpty()
+                    && segmentStack.peekLast().getPostingCount() <= segment.getPostingCount() * MERGE_FACTOR) {
+                segment = IndexSegment.merge(segmentStack.pollLast(), segment);
+            }
+            segmentStack.addLast(segment);
+            return List.copyOf(segmentStack);
+        });
+        nextGeneration(siteId);
+    }
+
+    @Override
+    public void removeSite(long siteId) {
+        siteSegmentMap.remove(siteId);
+        nextGeneration(siteId);
+    }
+
+    @Override
+    public List<IndexSegment> getSegments(long siteId) {
+        return siteSegmentMap.getOrDefault(siteId, Collections.emptyList());
+    }
+
+    @Override
+    public long getGeneration(long siteId) {
+        AtomicLong generation = generationMap.get(siteId);
+        return generation == null ? 0 : generation.get();
+    }
+
+    private void nextGeneration(long siteId) {
+        generationMap.computeIfAbsent(siteId, id -> new AtomicLong()).incrementAndGet();
+    }
+}
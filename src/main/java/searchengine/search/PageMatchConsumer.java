@@ -0,0 +1,6 @@
+package searchengine.search;
+
+@FunctionalInterface
+public interface PageMatchConsumer {
+    void accept(long pageId, float score, PostingList.Cursor[] cursors);
+}
@@ -0,0 +1,84 @@
+package searchengine.search;
+
+import java.util.Arrays;
+
+public class PageScoreAccumulator {
+    private static final long EMPTY = Long.MIN_VALUE;
+    private long[] pageIds;
+    private float[] scores;
+    private int mask;
+    private int size;
+    private float maxScore;
+
+    public PageScoreAccumulator() {
+        this(16);
+    }
+
+    public PageScoreAccumulator(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(expectedSize * 2 - 1, 16)) << 1;
+        pageIds = new long[capacity];
+        scores = new float[capacity];
+        Arrays.fill(pageIds, EMPTY);
+        mask = capacity - 1;
+    }
+
+    public void add(long pageId, float rank) {
+        int slot = findSlot(pageIds, mask, pageId);
+        if (pageIds[slot] == EMPTY) {
+            pageIds[slot] = pageId;
+            scores[slot] = rank;
+            if (++size * 3 > pageIds.length * 2) {
+                resize();
+            }
+            maxScore = Math.max(maxScore, rank);
+        } else {
+            scores[slot] += rank;
+            maxScore = Math.max(maxScore, scores[slot]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public float getMaxScore() {
+        return maxScore;
+    }
+
+    public void forEach(PageScoreConsumer consumer) {
+        for (int i = 0; i < pageIds.length; i++) {
+            if (pageIds[i] != EMPTY) {
+                consumer.accept(pageIds[i], scores[i]);
+            }
+        }
+    }
+
+    private void resize() {
+        long[] oldPageIds = pageIds;
+        float[] oldScores = scores;
+        pageIds = new long[oldPageIds.length * 2];
+        scores = new float[oldScores.length * 2];
+        Arrays.fill(pageIds, EMPTY);
+        mask = pageIds.length - 1;
+        for (int i = 0; i < oldPageIds.length; i++) {
+            if (oldPageIds[i] != EMPTY) {
+                int slot = findSlot(pageIds, mask, oldPageIds[i]);
+                pageIds[slot] = oldPageIds[i];
+                scores[slot] = oldScores[i];
+            }
+        }
+    }
+
+    private static int findSlot(long[] pageIds, int mask, long pageId) {
+        long hash = pageId * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (pageIds[slot] != EMPTY && pageIds[slot] != pageId) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+}
@@ -0,0 +1,6 @@
+package searchengine.search;
+
+@FunctionalInterface
+public interface PageScoreConsumer {
+    void accept(long pageId, float score);
+}
@@ -0,0 +1,60 @@
+package searchengine.search;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PositionMatcher {
+    private static final float PROXIMITY_BOOST = 0.5F;
+
+    private PositionMatcher() {}
+
+    public static boolean containsPhrase(int[][] positions, List<Integer> offsets) {
+        for (int position : positions[0]) {
+            int start = position - offsets.get(0);
+            boolean matched = true;
+            for (int i = 1; i < positions.length && matched; i++) {
+                matched = Arrays.binarySearch(positions[i], start + offsets.get(i)) >= 0;
+            }
+            if (matched) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static float proximityFactor(int[][] positions) {
+        if (positions.length < 2) {
+            return 1;
+        }
+        int window = minimalWindow(positions);
+        if (window == Integer.MAX_VALUE) {
+            return 1;
+        }
+        return 1 + PROXIMITY_BOOST / (1 + Math.max(0, window - (positions.length - 1)));
+    }
+
+    private static int minimalWindow(int[][] positions) {
+        int[] pointers = new int[positions.length];
+        for (int[] lemmaPositions : positions) {
+            if (lemmaPositions.length == 0) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        int window = Integer.MAX_VALUE;
+        while (true) {
+            int min = 0;
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < positions.length; i++) {
+                int position = positions[i][pointers[i]];
+                if (position < positions[min][pointers[min]]) {
+                    min = i;
+                }
+                max = Math.max(max, position);
+            }
+            window = Math.min(window, max - positions[min][pointers[min]]);
+            if (++pointers[min] == positions[min].length) {
+                return window;
+            }
+        }
+    }
+}
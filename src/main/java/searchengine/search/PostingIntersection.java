@@ -0,0 +1,58 @@
+package searchengine.search;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+public class PostingIntersection {
+
+    private PostingIntersection() {}
+
+    public static void intersect(List<PostingList> postingLists, PageScoreConsumer consumer) {
+        match(postingLists, (pageId, score, cursors) -> consumer.accept(pageId, score));
+    }
+
+    public static void match(List<PostingList> postingLists, PageMatchConsumer consumer) {
+        if (postingLists.isEmpty()) {
+            return;
+        }
+        PostingList.Cursor[] listCursors = new PostingList.Cursor[postingLists.size()];
+        for (int i = 0; i < listCursors.length; i++) {
+            listCursors[i] = postingLists.get(i).cursor();
+        }
+        Integer[] order = new Integer[listCursors.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingInt(i -> postingLists.get(i).size()));
+        PostingList.Cursor[] cursors = new PostingList.Cursor[listCursors.length];
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = listCursors[order[i]];
+        }
+        PostingList.Cursor lead = cursors[0];
+        if (!lead.next()) {
+            return;
+        }
+        candidates:
+        while (true) {
+            long candidate = lead.pageId();
+            float score = lead.rank();
+            for (int i = 1; i < cursors.length; i++) {
+                if (!cursors[i].advance(candidate)) {
+                    return;
+                }
+                if (cursors[i].pageId() != candidate) {
+                    if (!lead.advance(cursors[i].pageId())) {
+                        return;
+                    }
+                    continue candidates;
+                }
+                score += cursors[i].rank();
+            }
+            consumer.accept(candidate, score, listCursors);
+            if (!lead.next()) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package searchengine.search;
+
+import searchengine.utils.PositionCodec;
+
+import java.util.Arrays;
+
+public class PostingList {
+    private static final int SKIP_INTERVAL = 64;
+    private final String lemma;
+    private final int size;
+    private final byte[] pageIds;
+    private final float[] ranks;
+    private final byte[] positions;
+    private final int[] positionOffsets;
+    private final long[] skipPageIds;
+    private final int[] skipOffsets;
+
+    private PostingList(String lemma, int size, byte[] pageIds, float[] ranks, byte[] positions,
+                        int[] positionOffsets, long[] skipPageIds, int[] skipOffsets) {
+        this.lemma = lemma;
+        this.size = size;
+        this.pageIds = pageIds;
+        this.ranks = ranks;
+        this.positions = positions;
+        this.positionOffsets = positionOffsets;
+        this.skipPageIds = skipPageIds;
+        this.skipOffsets = skipOffsets;
+    }
+
+    public String getLemma() {
+        return lemma;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    public class Cursor {
+        private int position = -1;
+        private int offset;
+        private long pageId;
+
+        public boolean next() {
+            if (position + 1 >= size) {
+                position = size;
+                return false;
+            }
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = pageIds[offset++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            pageId += delta;
+            position++;
+            return true;
+        }
+
+        public boolean advance(long target) {
+            if (position >= size) {
+                return false;
+            }
+            if (position >= 0 && pageId >= target) {
+                return true;
+            }
+            skipTo(target);
+            while (next()) {
+                if (pageId >= target) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        public long pageId() {
+            return pageId;
+        }
+
+        public float rank() {
+            return ranks[position];
+        }
+
+        public boolean hasPositions() {
+            return positionOffsets[position + 1] > positionOffsets[position];
+        }
+
+        public int[] decodePositions() {
+            return PositionCodec.decode(positions, positionOffsets[position], positionOffsets[position + 1]);
+        }
+
+        private PostingList postingList() {
+            return PostingList.this;
+        }
+
+        private void skipTo(long target) {
+            int low = (position + 1) / SKIP_INTERVAL;
+            if (low >= skipPageIds.length || skipPageIds[low] >= target) {
+                return;
+            }
+            int step = 1;
+            int high = low;
+            while (high + step < skipPageIds.length && skipPageIds[high + step] < target) {
+                high += step;
+                step <<= 1;
+            }
+            low = high;
+            high = Math.min(high + step, skipPageIds.length) - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (skipPageIds[middle] < target) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            position = (low + 1) * SKIP_INTERVAL - 1;
+            pageId = skipPageIds[low];
+            offset = skipOffsets[low];
+        }
+    }
+
+    public static class Builder {
+        private final String lemma;
+        private byte[] pageIds = new byte[16];
+        private float[] ranks = new float[4];
+        private byte[] positions = new byte[16];
+        private int[] positionOffsets = new int[5];
+        private int positionLength;
+        private long[] skipPageIds = new long[4];
+        private int[] skipOffsets = new int[4];
+        private int skipCount;
+        private int size;
+        private int length;
+        private long lastPageId;
+
+        public Builder(String lemma) {
+            this.lemma = lemma;
+        }
+
+        public String getLemma() {
+            return lemma;
+        }
+
+        public Builder add(long pageId, float rank, byte[] pagePositions) {
+            return pagePositions == null ? add(pageId, rank, null, 0, 0)
+                    : add(pageId, rank, pagePositions, 0, pagePositions.length);
+        }
+
+        public Builder add(Cursor cursor) {
+            PostingList source = cursor.postingList();
+            return add(cursor.pageId(), cursor.rank(), source.positions, source.positionOffsets[cursor.position],
+                    source.positionOffsets[cursor.position + 1]);
+        }
+
+        private Builder add(long pageId, float rank, byte[] source, int from, int to) {
+            if (size > 0 && pageId <= lastPageId) {
+                throw new IllegalArgumentException("Страницы должны добавляться по возрастанию id: " + pageId);
+            }
+            long delta = pageId - lastPageId;
+            if (length + 10 > pageIds.length) {
+                pageIds = Arrays.copyOf(pageIds, pageIds.length * 2);
+            }
+            while ((delta & ~0x7FL) != 0) {
+                pageIds[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            pageIds[length++] = (byte) delta;
+            if (size == ranks.length) {
+                ranks = Arrays.copyOf(ranks, ranks.length * 2);
+                positionOffsets = Arrays.copyOf(positionOffsets, ranks.length + 1);
+            }
+            int positionBytes = to - from;
+            if (positionLength + positionBytes > positions.length) {
+                positions = Arrays.copyOf(positions, Math.max(positions.length * 2, positionLength + positionBytes));
+            }
+            if (positionBytes > 0) {
+                System.arraycopy(source, from, positions, positionLength, positionBytes);
+                positionLength += positionBytes;
+            }
+            ranks[size++] = rank;
+            positionOffsets[size] = positionLength;
+            lastPageId = pageId;
+            if (size % SKIP_INTERVAL == 0) {
+                if (skipCount == skipPageIds.length) {
+                    skipPageIds = Arrays.copyOf(skipPageIds, skipCount * 2);
+                    skipOffsets = Arrays.copyOf(skipOffsets, skipCount * 2);
+                }
+                skipPageIds[skipCount] = pageId;
+                skipOffsets[skipCount++] = length;
+            }
+            return this;
+        }
+
+        public PostingList build() {
+            return new PostingList(lemma, size, Arrays.copyOf(pageIds, length), Arrays.copyOf(ranks, size),
+                    Arrays.copyOf(positions, positionLength), Arrays.copyOf(positionOffsets, size + 1),
+                    Arrays.copyOf(skipPageIds, skipCount), Arrays.copyOf(skipOffsets, skipCount));
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package searchengine.search;
+
+import java.util.Comparator;
+
+public record ScoredPage(long pageId,
+                         float relevance) {
+    public static final Comparator<ScoredPage> BY_RELEVANCE = Comparator.comparing(ScoredPage::relevance).reversed()
+            .thenComparingLong(ScoredPage::pageId);
+}
@@ -0,0 +1,54 @@
+package searchengine.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class ScoredPageMerger {
+
+    private ScoredPageMerger() {}
+
+    public static List<ScoredPage> merge(List<SiteHits> siteHitsList, int offset, int limit) {
+        float maxScore = 0;
+        PriorityQueue<MergeCursor> queue = new PriorityQueue<>(Math.max(siteHitsList.size(), 1),
+                Comparator.comparing(MergeCursor::current, ScoredPage.BY_RELEVANCE));
+        for (SiteHits siteHits : siteHitsList) {
+            maxScore = Math.max(maxScore, siteHits.maxScore());
+            if (!siteHits.pages().isEmpty()) {
+                queue.add(new MergeCursor(siteHits.pages()));
+            }
+        }
+        float divider = maxScore == 0 ? 1 : maxScore;
+        List<ScoredPage> result = new ArrayList<>();
+        long end = (long) offset + limit;
+        for (long i = 0; i < end && !queue.isEmpty(); i++) {
+            MergeCursor cursor = queue.poll();
+            ScoredPage page = cursor.current();
+            if (i >= offset) {
+                result.add(new ScoredPage(page.pageId(), page.relevance() / divider));
+            }
+            if (cursor.next()) {
+                queue.add(cursor);
+            }
+        }
+        return result;
+    }
+
+    private static class MergeCursor {
+        private final List<ScoredPage> pages;
+        private int index;
+
+        private MergeCursor(List<ScoredPage> pages) {
+            this.pages = pages;
+        }
+
+        private ScoredPage current() {
+            return pages.get(index);
+        }
+
+        private boolean next() {
+            return ++index < pages.size();
+        }
+    }
+}
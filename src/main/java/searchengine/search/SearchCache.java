@@ -0,0 +1,77 @@
+package searchengine.search;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import searchengine.config.SearchSettings;
+import searchengine.dto.statistics.SearchCacheStatistics;
+import searchengine.dto.statistics.response.SearchResponse;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+public class SearchCache {
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Map<SearchCacheKey, CacheEntry> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private record CacheEntry(SearchResponse response, long createdAt) {
+    }
+
+    public SearchCache(SearchSettings searchSettings) {
+        this.maxSize = searchSettings.getCacheSize();
+        this.ttlMillis = searchSettings.getCacheTtl().toMillis();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<SearchCacheKey, CacheEntry> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public SearchResponse get(SearchCacheKey key) {
+        CacheEntry entry;
+        synchronized (cache) {
+            entry = cache.get(key);
+            if (entry != null && System.currentTimeMillis() - entry.createdAt() > ttlMillis) {
+                cache.remove(key);
+                evictions.incrementAndGet();
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            misses.incrementAndGet();
+            log.debug("Поисковый запрос не найден в кэше: {}", key);
+            return null;
+        }
+        hits.incrementAndGet();
+        log.debug("Поисковый запрос найден в кэше: {}", key);
+        return entry.response();
+    }
+
+    public void put(SearchCacheKey key, SearchResponse response) {
+        if (maxSize <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, new CacheEntry(response, System.currentTimeMillis()));
+        }
+    }
+
+    public SearchCacheStatistics getStatistics() {
+        int size;
+        synchronized (cache) {
+            size = cache.size();
+        }
+        return new SearchCacheStatistics(hits.get(), misses.get(), evictions.get(), size);
+    }
+}
@@ -0,0 +1,11 @@
+package searchengine.search;
+
+import java.util.List;
+
+public record SearchCacheKey(List<String> lemmas,
+                             List<SearchQuery.Phrase> phrases,
+                             String site,
+                             int offset,
+                             int limit,
+                             List<Long> generations) {
+}
@@ -0,0 +1,50 @@
+package searchengine.search;
+
+import searchengine.dto.statistics.TokenSpan;
+import searchengine.morphology.Morphology;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public record SearchQuery(List<String> lemmas, List<Phrase> phrases) {
+
+    public record Phrase(List<String> lemmas, List<Integer> offsets) {
+    }
+
+    public static SearchQuery parse(String text, Morphology morphology) {
+        Set<String> lemmaSet = new LinkedHashSet<>();
+        List<Phrase> phraseList = new ArrayList<>();
+        String[] parts = text.split("\"", -1);
+        for (int i = 0; i < parts.length; i++) {
+            List<TokenSpan> tokenSpanList = morphology.getTokenSpans(parts[i]);
+            tokenSpanList.forEach(tokenSpan -> lemmaSet.addAll(tokenSpan.lemmas()));
+            if (i % 2 == 1) {
+                Phrase phrase = toPhrase(tokenSpanList);
+                if (phrase.lemmas().size() > 1) {
+                    phraseList.add(phrase);
+                }
+            }
+        }
+        return new SearchQuery(new ArrayList<>(lemmaSet), phraseList);
+    }
+
+    private static Phrase toPhrase(List<TokenSpan> tokenSpanList) {
+        List<String> phraseLemmas = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        int first = -1;
+        for (int i = 0; i < tokenSpanList.size(); i++) {
+            List<String> lemmas = tokenSpanList.get(i).lemmas();
+            if (lemmas.isEmpty()) {
+                continue;
+            }
+            if (first == -1) {
+                first = i;
+            }
+            phraseLemmas.add(lemmas.get(0));
+            offsets.add(i - first);
+        }
+        return new Phrase(phraseLemmas, offsets);
+    }
+}
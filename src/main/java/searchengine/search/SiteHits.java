@@ -0,0 +1,8 @@
+package searchengine.search;
+
+import java.util.List;
+
+public record SiteHits(List<ScoredPage> pages,
+                       int totalHits,
+                       float maxScore) {
+}
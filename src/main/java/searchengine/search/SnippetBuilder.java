@@ -0,0 +1,80 @@
+package searchengine.search;
+
+import searchengine.dto.statistics.TokenSpan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class SnippetBuilder {
+    private static final int FRAGMENT_LENGTH = 50;
+    private static final int MAX_FRAGMENTS = 5;
+    private static final int MAX_GAP = 5;
+    private static final int FALLBACK_LENGTH = 200;
+
+    private SnippetBuilder() {}
+
+    private record Highlight(int start, int end) {
+    }
+
+    public static String build(String content, List<TokenSpan> tokenSpanList, Collection<String> queryLemmas) {
+        Set<String> lemmaSet = new HashSet<>(queryLemmas);
+        Set<String> missingLemmas = new HashSet<>(queryLemmas);
+        List<Highlight> highlightList = new ArrayList<>();
+        boolean previousMatched = false;
+        for (TokenSpan tokenSpan : tokenSpanList) {
+            boolean matched = false;
+            for (String lemma : tokenSpan.lemmas()) {
+                if (lemmaSet.contains(lemma)) {
+                    matched = true;
+                    missingLemmas.remove(lemma);
+                }
+            }
+            if (matched) {
+                int last = highlightList.size() - 1;
+                if (previousMatched && tokenSpan.start() - highlightList.get(last).end() < MAX_GAP) {
+                    highlightList.set(last, new Highlight(highlightList.get(last).start(), tokenSpan.end()));
+                } else {
+                    highlightList.add(new Highlight(tokenSpan.start(), tokenSpan.end()));
+                }
+            }
+            previousMatched = matched;
+        }
+        if (!missingLemmas.isEmpty() || highlightList.isEmpty()) {
+            return "";
+        }
+        return joinFragments(content, highlightList);
+    }
+
+    public static String fallback(String text) {
+        String content = text == null ? "" : text.strip();
+        if (content.length() <= FALLBACK_LENGTH) {
+            return content;
+        }
+        int end = content.lastIndexOf(' ', FALLBACK_LENGTH);
+        return content.substring(0, end > 0 ? end : FALLBACK_LENGTH) + "...";
+    }
+
+    private static String joinFragments(String content, List<Highlight> highlightList) {
+        StringBuilder snippet = new StringBuilder();
+        int fragments = 0;
+        int i = 0;
+        while (i < highlightList.size() && fragments < MAX_FRAGMENTS) {
+            int position = highlightList.get(i).start();
+            int end = Math.min(content.length(), position + FRAGMENT_LENGTH);
+            while (i < highlightList.size() && highlightList.get(i).start() < end) {
+                Highlight highlight = highlightList.get(i);
+                snippet.append(content, position, highlight.start())
+                        .append("<b>").append(content, highlight.start(), highlight.end()).append("</b>");
+                position = highlight.end();
+                end = Math.max(end, position);
+                i++;
+            }
+            snippet.append(content, position, end).append("...");
+            fragments++;
+        }
+        return snippet.toString();
+    }
+}
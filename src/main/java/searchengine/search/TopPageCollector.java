@@ -0,0 +1,95 @@
+package searchengine.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TopPageCollector {
+    private final int capacity;
+    private long[] pageIds = new long[16];
+    private float[] scores = new float[16];
+    private int size;
+    private int totalHits;
+
+    public TopPageCollector(int capacity) {
+        this.capacity = Math.max(capacity, 0);
+    }
+
+    public void collect(long pageId, float score) {
+        totalHits++;
+        if (capacity == 0) {
+            return;
+        }
+        if (size < capacity) {
+            if (size == pageIds.length) {
+                int newLength = (int) Math.min((long) size * 2, capacity);
+                pageIds = Arrays.copyOf(pageIds, newLength);
+                scores = Arrays.copyOf(scores, newLength);
+            }
+            pageIds[size] = pageId;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (less(pageIds[0], scores[0], pageId, score)) {
+            pageIds[0] = pageId;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    public int getTotalHits() {
+        return totalHits;
+    }
+
+    public List<ScoredPage> getWindow(int offset) {
+        List<ScoredPage> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new ScoredPage(pageIds[i], scores[i]));
+        }
+        result.sort(ScoredPage.BY_RELEVANCE);
+        return offset >= result.size() ? new ArrayList<>() : result.subList(Math.max(offset, 0), result.size());
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!less(pageIds[i], scores[i], pageIds[parent], scores[parent])) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int child = left;
+            int right = left + 1;
+            if (right < size && less(pageIds[right], scores[right], pageIds[left], scores[left])) {
+                child = right;
+            }
+            if (!less(pageIds[child], scores[child], pageIds[i], scores[i])) {
+                break;
+            }
+            swap(i, child);
+            i = child;
+        }
+    }
+
+    private static boolean less(long firstId, float firstScore, long secondId, float secondScore) {
+        int compare = Float.compare(firstScore, secondScore);
+        return compare < 0 || (compare == 0 && firstId > secondId);
+    }
+
+    private void swap(int i, int j) {
+        long id = pageIds[i];
+        pageIds[i] = pageIds[j];
+        pageIds[j] = id;
+        float score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
@@ -8,6 +8,7 @@ public interface IndexingService {
     Response indexPage(String url);
     boolean urlIndexing(String url);
     void indexingAll();
+    void resumeIndexing();
     Response stopIndexing();
     void removeSiteFromIndex(String url);
 }
@@ -5,19 +5,22 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import searchengine.config.CrawlerSettings;
 import searchengine.config.Site;
 import searchengine.config.SitesList;
 import searchengine.dto.statistics.response.FalseResponse;
 import searchengine.dto.statistics.response.Response;
 import searchengine.dto.statistics.response.TrueResponse;
 import searchengine.model.Status;
-import searchengine.parsers.IndexParser;
-import searchengine.parsers.LemmaParser;
+import searchengine.parsers.CrawlScheduler;
+import searchengine.parsers.IndexWriter;
+import searchengine.parsers.PageAnalyzer;
+import searchengine.parsers.PageFetcher;
 import searchengine.parsers.SiteIndexed;
-import searchengine.repositories.IndexRepository;
-import searchengine.repositories.LemmaRepository;
+import searchengine.repositories.PageContentRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
+import searchengine.search.InvertedIndex;
 
 import java.util.List;
 import java.util.concurrent.ExecutorService;
@@ -29,12 +32,15 @@ import java.util.concurrent.Executors;
 public class IndexingServiceImpl implements IndexingService {
     private static final int PROCESSOR_CORE_COUNT = Runtime.getRuntime().availableProcessors();
     private ExecutorService executorService;
-    private final PageRepository pageRepository;
     private final SiteRepository siteRepository;
-    private final LemmaRepository lemmaRepository;
-    private final IndexRepository indexRepository;
-    private final LemmaParser lemmaParser;
-    private final IndexParser indexParser;
+    private final PageRepository pageRepository;
+    private final PageContentRepository pageContentRepository;
+    private final PageAnalyzer pageAnalyzer;
+    private final IndexWriter indexWriter;
+    private final InvertedIndex invertedIndex;
+    private final CrawlScheduler crawlScheduler;
+    private final PageFetcher pageFetcher;
+    private final CrawlerSettings crawlerSettings;
     private final SitesList sitesList;
 
 
@@ -46,7 +52,6 @@ public class IndexingServiceImpl implements IndexingService {
             if (siteRepository.findByUrl(url) == null) {
                 return new FalseResponse(false, "Указанный сайт не найден в базе");
             }
-            removeSiteFromIndex(url);
             urlIndexing(url);
             return new TrueResponse(true);
         }
@@ -69,8 +74,9 @@ public class IndexingServiceImpl implements IndexingService {
     public boolean urlIndexing(String url) {
         if (urlCheck(url)) {
             executorService = Executors.newFixedThreadPool(PROCESSOR_CORE_COUNT);
-            executorService.submit(new SiteIndexed(pageRepository, siteRepository, lemmaRepository, indexRepository,
-                    lemmaParser, indexParser, url, sitesList));
+            executorService.submit(new SiteIndexed(siteRepository, pageRepository, pageContentRepository,
+                    pageAnalyzer, indexWriter, invertedIndex, crawlScheduler, pageFetcher, crawlerSettings, url,
+                    sitesList));
             executorService.shutdown();
 
             return true;
@@ -90,13 +96,30 @@ public class IndexingServiceImpl implements IndexingService {
                 String url = site.getUrl();
                 searchengine.model.Site siteEntity = new searchengine.model.Site();
                 siteEntity.setName(site.getName());
-                executorService.submit(new SiteIndexed(pageRepository, siteRepository, lemmaRepository,
-                        indexRepository, lemmaParser, indexParser, url, sitesList));
+                executorService.submit(new SiteIndexed(siteRepository, pageRepository, pageContentRepository,
+                        pageAnalyzer, indexWriter, invertedIndex, crawlScheduler, pageFetcher, crawlerSettings, url,
+                        sitesList));
             }
             executorService.shutdown();
         }
     }
 
+    @Override
+    public void resumeIndexing() {
+        executorService = Executors.newFixedThreadPool(PROCESSOR_CORE_COUNT);
+        for (searchengine.config.Site site : sitesList.getSites()) {
+            searchengine.model.Site siteEntity = siteRepository.findByUrl(site.getUrl());
+            if (siteEntity == null || siteEntity.getStatus() != Status.INDEXING) {
+                log.info("Сайт {} не требует возобновления индексации", site.getUrl());
+                continue;
+            }
+            executorService.submit(new SiteIndexed(siteRepository, pageRepository, pageContentRepository,
+                    pageAnalyzer, indexWriter, invertedIndex, crawlScheduler, pageFetcher, crawlerSettings, site.getUrl(),
+                    sitesList));
+        }
+        executorService.shutdown();
+    }
+
     @Override
     public Response stopIndexing() {
         if (isIndexingActive()) {
@@ -129,9 +152,13 @@ public class IndexingServiceImpl implements IndexingService {
     }
     @Override
     public void removeSiteFromIndex(String url) {
-        IndexingService indexingService = new IndexingServiceImpl(pageRepository,
-                siteRepository, lemmaRepository, indexRepository, lemmaParser, indexParser, sitesList);
+        IndexingService indexingService = new IndexingServiceImpl(siteRepository, pageRepository,
+                pageContentRepository, pageAnalyzer, indexWriter, invertedIndex, crawlScheduler, pageFetcher, crawlerSettings, sitesList);
         if (urlCheck(url)) {
+            searchengine.model.Site site = siteRepository.findByUrl(url);
+            if (site != null) {
+                invertedIndex.removeSite(site.getId());
+            }
             siteRepository.deleteByUrl(url);
             indexingService.urlIndexing(url);
         }
@@ -7,30 +7,43 @@ import searchengine.dto.statistics.SearchDto;
 import searchengine.dto.statistics.response.FalseResponse;
 import searchengine.dto.statistics.response.Response;
 import searchengine.dto.statistics.response.SearchResponse;
-import searchengine.exception.NotAllSiteSearchException;
-import searchengine.model.Index;
-import searchengine.model.Lemma;
 import searchengine.model.Page;
 import searchengine.model.Site;
 import searchengine.morphology.Morphology;
-import searchengine.repositories.IndexRepository;
-import searchengine.repositories.LemmaRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
-import searchengine.utils.ClearHtmlCode;
-
+import searchengine.search.IndexSegment;
+import searchengine.search.InvertedIndex;
+import searchengine.search.PageScoreAccumulator;
+import searchengine.search.PostingIntersection;
+import searchengine.search.PositionMatcher;
+import searchengine.search.PostingList;
+import searchengine.search.SearchCache;
+import searchengine.search.SearchCacheKey;
+import searchengine.search.SearchQuery;
+import searchengine.search.ScoredPage;
+import searchengine.search.ScoredPageMerger;
+import searchengine.search.SiteHits;
+import searchengine.search.SnippetBuilder;
+import searchengine.search.TopPageCollector;
+
+import javax.annotation.PreDestroy;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class SearchServiceImpl implements SearchService {
+    private static final int PROCESSOR_CORE_COUNT = Runtime.getRuntime().availableProcessors();
+    private final ExecutorService searchExecutor = Executors.newFixedThreadPool(PROCESSOR_CORE_COUNT);
     private final Morphology morphology;
-    private final LemmaRepository lemmaRepository;
     private final PageRepository pageRepository;
-    private final IndexRepository indexRepository;
     private final SiteRepository siteRepository;
+    private final InvertedIndex invertedIndex;
+    private final SearchCache searchCache;
 
     @Override
     public Response search(String query, String site, int offset, int limit) {
@@ -40,183 +53,152 @@ public class SearchServiceImpl implements SearchService {
         if (!site.isEmpty() && siteRepository.findByUrl(site) == null) {
             return new FalseResponse(false, "Указанная страница не найдена");
         }
-        List<SearchDto> searchData;
         if (!site.isEmpty()) {
-            searchData = siteSearch(query, site, offset, limit);
+            return siteSearch(query, site, offset, limit);
         } else {
-            searchData = allSiteSearch(query, offset, limit);
+            return allSiteSearch(query, offset, limit);
         }
-        return new SearchResponse(true, searchData.size(), searchData);
     }
 
     @Override
-    public List<SearchDto> allSiteSearch(String searchText, int offset, int limit) {
+    public SearchResponse allSiteSearch(String searchText, int offset, int limit) {
         List<Site> siteList = siteRepository.findAll();
-        List<Lemma> foundLemmaList = new ArrayList<>();
-        List<String> textLemmaList = getLemmaFromSearchText(searchText);
-        siteList.forEach(site -> foundLemmaList.addAll(getLemmaListFromSite(textLemmaList, site)));
-        List<SearchDto> searchData = new ArrayList<>();
-        for (int i = 0; i < foundLemmaList.size(); i++) {
-            if (textLemmaList.contains(foundLemmaList.get(i).getLemma())) {
-                searchData.addAll(getSearchDtoList(foundLemmaList, textLemmaList, offset, limit));
-            } else {
-                throw new NotAllSiteSearchException();
-            }
+        SearchQuery searchQuery = SearchQuery.parse(searchText, morphology);
+        SearchCacheKey cacheKey = getCacheKey(searchQuery, "", siteList, offset, limit);
+        SearchResponse cachedResponse = searchCache.get(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
         }
-        searchData = searchData.stream().distinct().sorted((o1, o2) -> Float.compare(o2.relevance(), o1.relevance())).toList();
-        return searchData;
+        int capacity = getCapacity(offset, limit);
+        List<CompletableFuture<SiteHits>> futureList = siteList.stream()
+                .map(site -> CompletableFuture.supplyAsync(() -> searchSite(site, searchQuery, capacity), searchExecutor))
+                .toList();
+        List<SiteHits> siteHitsList = futureList.stream().map(CompletableFuture::join).toList();
+        SearchResponse response = getSearchDtoList(siteHitsList, searchQuery.lemmas(), offset, limit);
+        searchCache.put(cacheKey, response);
+        return response;
     }
 
     @Override
-    public List<SearchDto> siteSearch(String searchText, String url, int offset, int limit) {
+    public SearchResponse siteSearch(String searchText, String url, int offset, int limit) {
         Site site = siteRepository.findByUrl(url);
-        List<String> textLemmaList = getLemmaFromSearchText(searchText);
-        List<Lemma> foundLemmaList = getLemmaListFromSite(textLemmaList, site);
-        return getSearchDtoList(foundLemmaList, textLemmaList, offset, limit);
+        SearchQuery searchQuery = SearchQuery.parse(searchText, morphology);
+        SearchCacheKey cacheKey = getCacheKey(searchQuery, url, List.of(site), offset, limit);
+        SearchResponse cachedResponse = searchCache.get(cacheKey);
+        if (cachedResponse != null) {
+            return cachedResponse;
+        }
+        SiteHits siteHits = searchSite(site, searchQuery, getCapacity(offset, limit));
+        SearchResponse response = getSearchDtoList(List.of(siteHits), searchQuery.lemmas(), offset, limit);
+        searchCache.put(cacheKey, response);
+        return response;
     }
 
-    private List<String> getLemmaFromSearchText(String searchText) {
-        String[] words = searchText.toLowerCase(Locale.ROOT).split(" ");
-        List<String> lemmaList = new ArrayList<>();
-        for (String lemma : words) {
-            List<String> list = morphology.getLemma(lemma);
-            lemmaList.addAll(list);
+    @PreDestroy
+    public void shutdown() {
+        searchExecutor.shutdownNow();
+    }
+
+    private SiteHits searchSite(Site site, SearchQuery searchQuery, int capacity) {
+        PageScoreAccumulator pageRelevance = new PageScoreAccumulator();
+        for (IndexSegment segment : invertedIndex.getSegments(site.getId())) {
+            List<PostingList> foundLemmaList = segment.getPostingLists(searchQuery.lemmas());
+            collectPageRelevance(foundLemmaList, searchQuery, pageRelevance);
         }
-        return lemmaList;
+        TopPageCollector collector = new TopPageCollector(capacity);
+        pageRelevance.forEach(collector::collect);
+        return new SiteHits(collector.getWindow(0), collector.getTotalHits(), pageRelevance.getMaxScore());
+    }
+
+    private SearchCacheKey getCacheKey(SearchQuery searchQuery, String url, List<Site> siteList,
+                                       int offset, int limit) {
+        List<String> lemmas = searchQuery.lemmas().stream().sorted().toList();
+        List<Long> generations = siteList.stream()
+                .map(site -> invertedIndex.getGeneration(site.getId()))
+                .toList();
+        return new SearchCacheKey(lemmas, searchQuery.phrases(), url, offset, limit, generations);
     }
 
-    private List<Lemma> getLemmaListFromSite(List<String> lemmas, Site site) {
-        lemmaRepository.flush();
-        List<Lemma> lemmaList = lemmaRepository.findLemmaListBySite(lemmas, site);
-        List<Lemma> result = new ArrayList<>(lemmaList);
-        result.sort(Comparator.comparingInt(Lemma::getFrequency));
-        return result;
+    private int getCapacity(int offset, int limit) {
+        return (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
     }
 
-    private List<SearchDto> getSearchData(Hashtable<Page, Float> pageList, List<String> textLemmaList) {
-        return pageList.keySet().stream()
-                .map(page -> {
+    private List<SearchDto> getSearchData(List<ScoredPage> scoredPageList, List<String> textLemmaList) {
+        Map<Long, Page> pageMap = new HashMap<>();
+        pageRepository.findAllById(scoredPageList.stream().map(ScoredPage::pageId).toList())
+                .forEach(page -> pageMap.put(page.getId(), page));
+        return scoredPageList.stream()
+                .map(scoredPage -> {
+                    Page page = pageMap.get(scoredPage.pageId());
+                    if (page == null) {
+                        return null;
+                    }
                     String uri = page.getPath();
-                    String content = page.getContent();
                     Site pageSite = page.getSiteId();
                     String site = pageSite.getUrl();
                     String siteName = pageSite.getName();
-                    Float absRelevance = pageList.get(page);
+                    Float absRelevance = scoredPage.relevance();
 
                     StringBuilder clearContent = new StringBuilder();
-                    String title = ClearHtmlCode.clear(content, "title");
-                    String body = ClearHtmlCode.clear(content, "body");
-                    clearContent.append(title).append(" ").append(body);
+                    String title = page.getTitle();
+                    clearContent.append(title).append(" ").append(page.getText());
                     String snippet = getSnippet(clearContent.toString(), textLemmaList);
+                    if (snippet.isEmpty()) {
+                        snippet = SnippetBuilder.fallback(page.getText());
+                    }
 
-                    return snippet.isEmpty() ? null : new SearchDto(site, siteName, uri, title, snippet, absRelevance);
+                    return new SearchDto(site, siteName, uri, title, snippet, absRelevance);
                 })
+                .filter(Objects::nonNull)
                 .toList();
     }
 
     private String getSnippet(String content, List<String> lemmaList) {
-        Map<String, List<Integer>> lemmaIndexMap = new HashMap<>();
-        StringBuilder result = new StringBuilder();
-        for (String lemma : lemmaList) {
-            lemmaIndexMap.put(lemma, morphology.findLemmaIndexInText(content, lemma));
-        }
-        Map<String, List<String>> wordsListMap = getWordsFromContent(content, lemmaIndexMap);
-        for (Map.Entry<String, List<String>> entry : wordsListMap.entrySet()) {
-            if (entry.getValue().isEmpty()) {
-                return "";
-            }
-            for (String word : entry.getValue()) {
-                content = content.replaceAll(word, "<b>" + word + "</b>");
-            }
-            for (int i = 0; i < entry.getValue().size(); i++) {
-                String word = "<b>" + entry.getValue().get(i) + "</b>";
-                int start = content.indexOf(word);
+        return SnippetBuilder.build(content, morphology.getTokenSpans(content), lemmaList);
+    }
 
-                if (start != -1) {
-                    String res = content.substring(start, start + 50);
-                    result.append(res).append("...");
-                }
-            }
-        }
-        return result.toString();
+    private SearchResponse getSearchDtoList(List<SiteHits> siteHitsList, List<String> textLemmaList,
+                                            int offset, int limit) {
+        int count = siteHitsList.stream().mapToInt(SiteHits::totalHits).sum();
+        List<ScoredPage> window = ScoredPageMerger.merge(siteHitsList, offset, limit);
+        List<SearchDto> dataList = getSearchData(window, textLemmaList);
+        return new SearchResponse(true, count, dataList);
     }
 
-    private Map<String, List<String>> getWordsFromContent(String content, Map<String, List<Integer>> lemmaIndexMap) {
-        Map<String, List<String>> resultMap = new HashMap<>();
-        for (Map.Entry<String, List<Integer>> entry : lemmaIndexMap.entrySet()) {
-            List<Integer> lemmaIndex = new ArrayList<>(entry.getValue());
-            Collections.sort(lemmaIndex);
-            List<String> result = new ArrayList<>();
-            for (int i = 0; i < lemmaIndex.size(); i++) {
-                int start = lemmaIndex.get(i);
-                int end = content.indexOf(" ", start);
-                int nextIndex = i + 1;
-                while (nextIndex < lemmaIndex.size() && lemmaIndex.get(nextIndex) - end > 0 && lemmaIndex.get(nextIndex) - end < 5) {
-                    end = content.indexOf(" ", lemmaIndex.get(nextIndex));
-                    nextIndex++;
+    private void collectPageRelevance(List<PostingList> lemmaList, SearchQuery searchQuery,
+                                     PageScoreAccumulator accumulator) {
+        if (lemmaList.isEmpty() || lemmaList.size() < searchQuery.lemmas().size()) {
+            return;
+        }
+        if (lemmaList.size() == 1 && searchQuery.phrases().isEmpty()) {
+            PostingIntersection.intersect(lemmaList, accumulator::add);
+            return;
+        }
+        List<int[]> phraseIndexList = searchQuery.phrases().stream()
+                .map(phrase -> phrase.lemmas().stream().mapToInt(searchQuery.lemmas()::indexOf).toArray())
+                .toList();
+        PostingIntersection.match(lemmaList, (pageId, score, cursors) -> {
+            for (PostingList.Cursor cursor : cursors) {
+                if (!cursor.hasPositions()) {
+                    accumulator.add(pageId, score);
+                    return;
                 }
-                i = nextIndex - 1;
-                String word = getWordsFromIndex(start, end, content);
-                result.add(word);
             }
-            resultMap.put(entry.getKey(),
-                    result.stream().distinct()
-                        .sorted(Comparator.comparingInt(String::length).reversed())
-                        .toList());
-        }
-        return resultMap;
-
-    }
-
-    private String getWordsFromIndex(int start, int end, String content) {
-        return content.substring(start, end);
-    }
-
-    private List<SearchDto> getSearchDtoList(List<Lemma> lemmaList, List<String> textLemmaList, int offset, int limit) {
-        List<SearchDto> result = new ArrayList<>();
-        pageRepository.flush();
-        if (lemmaList.size() >= textLemmaList.size()) {
-            Set<Page> foundPageSet = new HashSet<>(pageRepository.findByLemmaList(lemmaList));
-            indexRepository.flush();
-            List<Page> foundPageList = new ArrayList<>(foundPageSet);
-            List<Index> foundIndexList = indexRepository.findByPagesAndLemmas(lemmaList, foundPageList);
-            Hashtable<Page, Float> sortedPageByAbsRelevance = getPageAbsRelevance(foundPageList, foundIndexList);
-            List<SearchDto> dataList = getSearchData(sortedPageByAbsRelevance, textLemmaList);
-
-            if (offset > dataList.size()) {
-                return new ArrayList<>();
+            int[][] positions = new int[cursors.length][];
+            for (int i = 0; i < cursors.length; i++) {
+                positions[i] = cursors[i].decodePositions();
             }
-
-            if (dataList.size() > limit) {
-                for (int i = offset; i < limit; i++) {
-                    if (dataList.get(i) != null) {
-                        result.add(dataList.get(i));
-                    }
+            for (int p = 0; p < phraseIndexList.size(); p++) {
+                int[] phraseIndexes = phraseIndexList.get(p);
+                int[][] phrasePositions = new int[phraseIndexes.length][];
+                for (int i = 0; i < phraseIndexes.length; i++) {
+                    phrasePositions[i] = positions[phraseIndexes[i]];
                 }
-                return result;
-            } else {
-                for (SearchDto dto : dataList) {
-                    if (dto != null) {
-                        result.add(dto);
-                    }
+                if (!PositionMatcher.containsPhrase(phrasePositions, searchQuery.phrases().get(p).offsets())) {
+                    return;
                 }
-                return result;
             }
-        } else return result;
-    }
-
-    private Hashtable<Page, Float> getPageAbsRelevance(List<Page> pageList, List<Index> indexList) {
-        Map<Page, Float> pageWithRelevance = pageList.stream()
-                .collect(Collectors.toMap(page -> page, page -> indexList.stream()
-                        .filter(index -> index.getPage().equals(page))
-                        .map(Index::getRank)
-                        .reduce(0f, Float::sum)));
-
-        Map<Page, Float> pageWithAbsRelevance = pageWithRelevance.entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue() / Collections.max(pageWithRelevance.values())));
-
-        return pageWithAbsRelevance.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(Comparator.reverseOrder()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, Hashtable::new));
+            accumulator.add(pageId, score * PositionMatcher.proximityFactor(positions));
+        });
     }
 }
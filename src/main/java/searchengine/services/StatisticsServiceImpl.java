@@ -8,9 +8,11 @@ import searchengine.dto.statistics.StatisticsResponse;
 import searchengine.dto.statistics.TotalStatistics;
 import searchengine.model.Site;
 import searchengine.model.Status;
+import searchengine.morphology.Morphology;
 import searchengine.repositories.LemmaRepository;
 import searchengine.repositories.PageRepository;
 import searchengine.repositories.SiteRepository;
+import searchengine.search.SearchCache;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -22,6 +24,8 @@ public class StatisticsServiceImpl implements StatisticsService {
     private final PageRepository pageRepository;
     private final LemmaRepository lemmaRepository;
     private final SiteRepository siteRepository;
+    private final SearchCache searchCache;
+    private final Morphology morphology;
 
     private TotalStatistics getTotal() {
         Long sites = siteRepository.count();
@@ -56,6 +60,7 @@ public class StatisticsServiceImpl implements StatisticsService {
     public StatisticsResponse getStatistics() {
         TotalStatistics total = getTotal();
         List<DetailedStatisticsItem> list = getDetailedList();
-        return new StatisticsResponse(true, new StatisticsData(total, list));
+        return new StatisticsResponse(true, new StatisticsData(total, list, searchCache.getStatistics(),
+                morphology.getCacheStatistics()));
     }
 }
@@ -0,0 +1,65 @@
+package searchengine.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class ContentCompressor {
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentCompressor() {}
+
+    public static byte[] compress(String content) {
+        return compress(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static byte[] compress(byte[] body, Charset charset) {
+        if (charset.equals(StandardCharsets.UTF_8)) {
+            return compress(body);
+        }
+        return compress(new String(body, charset));
+    }
+
+    private static byte[] compress(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, input.length / 4));
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                output.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return output.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    public static String decompress(byte[] data) {
+        if (data.length == 0) {
+            return "";
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(data);
+            ByteArrayOutputStream output = new ByteArrayOutputStream(data.length * 4);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                int count = inflater.inflate(buffer);
+                if (count == 0 && !inflater.finished() && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Повреждённое содержимое страницы");
+                }
+                output.write(buffer, 0, count);
+            }
+            return output.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalArgumentException("Повреждённое содержимое страницы", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
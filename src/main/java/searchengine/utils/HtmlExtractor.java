@@ -0,0 +1,354 @@
+package searchengine.utils;
+
+import org.jsoup.nodes.Entities;
+import searchengine.dto.statistics.HtmlDto;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+public class HtmlExtractor {
+    private static final int CHARSET_SNIFF_LENGTH = 1024;
+    private static final String CHARSET_PARAMETER = "charset=";
+    private static final int MAX_ENTITY_LENGTH = 32;
+    private static final Set<String> RAW_TEXT_TAGS = Set.of("script", "style", "template", "noscript", "textarea");
+    private static final Set<String> HEAD_TAGS = Set.of("base", "link", "meta", "noscript", "script", "style",
+            "template", "title");
+    private static final Set<String> BLOCK_TAGS = Set.of("address", "article", "aside", "blockquote", "br", "dd",
+            "div", "dl", "dt", "fieldset", "figcaption", "figure", "footer", "form", "h1", "h2", "h3", "h4", "h5",
+            "h6", "header", "hr", "li", "main", "nav", "ol", "option", "p", "pre", "section", "table", "tbody",
+            "td", "tfoot", "th", "thead", "tr", "ul");
+
+    private HtmlExtractor() {}
+
+    public static HtmlDto extract(byte[] body, String charset, String baseUrl) {
+        return extract(new String(body, detectCharset(body, charset)), baseUrl);
+    }
+
+    public static HtmlDto extract(String html, String baseUrl) {
+        TextBuffer title = new TextBuffer();
+        TextBuffer text = new TextBuffer();
+        List<String> linkList = new ArrayList<>();
+        String base = baseUrl;
+        String origin = getOrigin(baseUrl);
+        boolean inHead = false;
+        boolean hasTitle = false;
+        int svgDepth = 0;
+        int length = html.length();
+        int i = 0;
+        while (i < length) {
+            int tagStart = html.indexOf('<', i);
+            int textEnd = tagStart == -1 ? length : tagStart;
+            if (textEnd > i && !inHead) {
+                text.append(html, i, textEnd);
+            }
+            if (tagStart == -1) {
+                break;
+            }
+            if (html.startsWith("<!--", tagStart)) {
+                int end = html.indexOf("-->", tagStart + 4);
+                i = end == -1 ? length : end + 3;
+                continue;
+            }
+            int nameStart = tagStart + 1;
+            boolean closing = nameStart < length && html.charAt(nameStart) == '/';
+            if (closing) {
+                nameStart++;
+            }
+            if (nameStart < length && (html.charAt(nameStart) == '!' || html.charAt(nameStart) == '?')) {
+                int end = html.indexOf('>', nameStart);
+                i = end == -1 ? length : end + 1;
+                continue;
+            }
+            int nameEnd = nameStart;
+            while (nameEnd < length && isNameChar(html.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            if (nameEnd == nameStart || !Character.isLetter(html.charAt(nameStart))) {
+                if (!inHead) {
+                    text.append(html, tagStart, tagStart + 1);
+                }
+                i = tagStart + 1;
+                continue;
+            }
+            String name = html.substring(nameStart, nameEnd).toLowerCase(Locale.ROOT);
+            String href = null;
+            int position = nameEnd;
+            while (position < length && html.charAt(position) != '>') {
+                char c = html.charAt(position);
+                if (c == '"' || c == '\'' || Character.isWhitespace(c) || c == '/') {
+                    position++;
+                    continue;
+                }
+                int attributeStart = position;
+                while (position < length && !isAttributeNameEnd(html.charAt(position))) {
+                    position++;
+                }
+                String attribute = html.substring(attributeStart, position);
+                while (position < length && Character.isWhitespace(html.charAt(position))) {
+                    position++;
+                }
+                if (position >= length || html.charAt(position) != '=') {
+                    continue;
+                }
+                position++;
+                while (position < length && Character.isWhitespace(html.charAt(position))) {
+                    position++;
+                }
+                int valueStart;
+                int valueEnd;
+                if (position < length && (html.charAt(position) == '"' || html.charAt(position) == '\'')) {
+                    valueStart = position + 1;
+                    valueEnd = html.indexOf(html.charAt(position), valueStart);
+                    valueEnd = valueEnd == -1 ? length : valueEnd;
+                    position = Math.min(length, valueEnd + 1);
+                } else {
+                    valueStart = position;
+                    while (position < length && !Character.isWhitespace(html.charAt(position))
+                            && html.charAt(position) != '>') {
+                        position++;
+                    }
+                    valueEnd = position;
+                }
+                if (!closing && attribute.equalsIgnoreCase("href")) {
+                    href = unescape(html, valueStart, valueEnd).trim();
+                }
+            }
+            i = Math.min(length, position + 1);
+            if (closing) {
+                if (name.equals("head")) {
+                    inHead = false;
+                } else if (name.equals("svg")) {
+                    svgDepth = Math.max(0, svgDepth - 1);
+                } else if (BLOCK_TAGS.contains(name)) {
+                    text.separate();
+                }
+                continue;
+            }
+            if (inHead && !HEAD_TAGS.contains(name)) {
+                inHead = false;
+            }
+            switch (name) {
+                case "head" -> inHead = true;
+                case "body" -> inHead = false;
+                case "base" -> {
+                    if (href != null) {
+                        base = resolve(baseUrl, href);
+                        origin = getOrigin(base);
+                    }
+                }
+                case "a" -> addLink(linkList, base, origin, href);
+                case "svg" -> {
+                    if (html.charAt(position - 1) != '/') {
+                        svgDepth++;
+                    }
+                }
+                case "title" -> {
+                    if (svgDepth == 0) {
+                        i = readRawText(html, i, name, hasTitle ? null : title);
+                        hasTitle = true;
+                    }
+                }
+                default -> {
+                    if (RAW_TEXT_TAGS.contains(name)) {
+                        i = readRawText(html, i, name, null);
+                    } else if (BLOCK_TAGS.contains(name)) {
+                        text.separate();
+                    }
+                }
+            }
+        }
+        return new HtmlDto(title.toString(), text.toString(), linkList);
+    }
+
+    private static void addLink(List<String> linkList, String base, String origin, String href) {
+        if (href == null || href.isEmpty()) {
+            return;
+        }
+        String link;
+        if (origin != null && href.charAt(0) == '/' && !href.startsWith("//")) {
+            link = origin + href;
+        } else if (href.startsWith("https://") || href.startsWith("http://")) {
+            link = href;
+        } else {
+            link = resolve(base, href);
+        }
+        if (!link.isEmpty()) {
+            linkList.add(link);
+        }
+    }
+
+    private static String resolve(String base, String href) {
+        try {
+            URI baseUri = new URI(base);
+            if (baseUri.getRawPath() == null || baseUri.getRawPath().isEmpty()) {
+                baseUri = baseUri.resolve("/");
+            }
+            String reference = href.trim().replace(" ", "%20");
+            if (reference.startsWith("?")) {
+                reference = baseUri.getRawPath() + reference;
+            }
+            return baseUri.resolve(reference).toString();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static String getOrigin(String url) {
+        try {
+            URI uri = new URI(url);
+            if (uri.getScheme() == null || uri.getRawAuthority() == null) {
+                return null;
+            }
+            return uri.getScheme() + "://" + uri.getRawAuthority();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static String unescape(String html, int start, int end) {
+        StringBuilder result = new StringBuilder(end - start);
+        int i = start;
+        while (i < end) {
+            char c = html.charAt(i);
+            int semicolon = c == '&' ? indexOfEntityEnd(html, i + 1, end) : -1;
+            String decoded = semicolon == -1 ? null : decodeEntity(html.substring(i + 1, semicolon));
+            if (decoded == null) {
+                result.append(c);
+                i++;
+            } else {
+                result.append(decoded);
+                i = semicolon + 1;
+            }
+        }
+        return result.toString();
+    }
+
+    private static int indexOfEntityEnd(String html, int start, int end) {
+        int limit = Math.min(end, start + MAX_ENTITY_LENGTH);
+        for (int i = start; i < limit; i++) {
+            char c = html.charAt(i);
+            if (c == ';') {
+                return i;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '#') {
+                return -1;
+            }
+        }
+        return -1;
+    }
+
+    private static String decodeEntity(String entity) {
+        if (entity.isEmpty()) {
+            return null;
+        }
+        if (entity.charAt(0) != '#') {
+            String decoded = Entities.getByName(entity);
+            return decoded.isEmpty() ? null : decoded;
+        }
+        try {
+            boolean hex = entity.length() > 1 && (entity.charAt(1) == 'x' || entity.charAt(1) == 'X');
+            int codePoint = hex ? Integer.parseInt(entity.substring(2), 16) : Integer.parseInt(entity.substring(1));
+            return Character.isValidCodePoint(codePoint) ? new String(Character.toChars(codePoint)) : null;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static int readRawText(String html, int start, String name, TextBuffer buffer) {
+        int end = indexOfClosingTag(html, start, name);
+        if (buffer != null) {
+            buffer.append(html, start, end);
+        }
+        int close = html.indexOf('>', end);
+        return close == -1 ? html.length() : close + 1;
+    }
+
+    private static int indexOfClosingTag(String html, int start, String name) {
+        int position = html.indexOf("</", start);
+        while (position != -1) {
+            if (html.regionMatches(true, position + 2, name, 0, name.length())) {
+                return position;
+            }
+            position = html.indexOf("</", position + 2);
+        }
+        return html.length();
+    }
+
+    private static boolean isNameChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == ':' || c == '_';
+    }
+
+    private static boolean isAttributeNameEnd(char c) {
+        return Character.isWhitespace(c) || c == '=' || c == '>' || c == '/';
+    }
+
+    public static Charset detectCharset(byte[] body, String charset) {
+        if (charset != null && Charset.isSupported(charset)) {
+            return Charset.forName(charset);
+        }
+        String head = new String(body, 0, Math.min(body.length, CHARSET_SNIFF_LENGTH), StandardCharsets.ISO_8859_1)
+                .toLowerCase(Locale.ROOT);
+        int start = head.indexOf(CHARSET_PARAMETER);
+        if (start != -1) {
+            int end = start + CHARSET_PARAMETER.length();
+            while (end < head.length() && isCharsetChar(head.charAt(end))) {
+                end++;
+            }
+            String sniffed = head.substring(start + CHARSET_PARAMETER.length(), end).replace("\"", "")
+                    .replace("'", "");
+            if (!sniffed.isEmpty() && Charset.isSupported(sniffed)) {
+                return Charset.forName(sniffed);
+            }
+        }
+        return StandardCharsets.UTF_8;
+    }
+
+    private static boolean isCharsetChar(char c) {
+        return Character.isLetterOrDigit(c) || c == '-' || c == '_' || c == '"' || c == '\'';
+    }
+
+    private static class TextBuffer {
+        private final StringBuilder builder = new StringBuilder();
+        private boolean space;
+
+        void separate() {
+            space = true;
+        }
+
+        void append(String html, int start, int end) {
+            for (int i = start; i < end; i++) {
+                if (html.charAt(i) == '&') {
+                    append(unescape(html, start, end));
+                    return;
+                }
+            }
+            append(html.subSequence(start, end));
+        }
+
+        private void append(CharSequence run) {
+            for (int i = 0; i < run.length(); i++) {
+                char c = run.charAt(i);
+                if (c == ' ' || c == '\t' || c == '\n' || c == '\f' || c == '\r' || c == '\u00A0') {
+                    space = true;
+                    continue;
+                }
+                if (space && builder.length() > 0) {
+                    builder.append(' ');
+                }
+                space = false;
+                builder.append(c);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return builder.toString();
+        }
+    }
+}
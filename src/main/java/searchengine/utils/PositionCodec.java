@@ -0,0 +1,53 @@
+package searchengine.utils;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PositionCodec {
+    private static final int[] EMPTY = new int[0];
+
+    private PositionCodec() {}
+
+    public static byte[] encode(List<Integer> positionList) {
+        byte[] data = new byte[positionList.size() * 5];
+        int length = 0;
+        int previous = 0;
+        for (int position : positionList) {
+            int delta = position - previous;
+            while ((delta & ~0x7F) != 0) {
+                data[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            data[length++] = (byte) delta;
+            previous = position;
+        }
+        return Arrays.copyOf(data, length);
+    }
+
+    public static int[] decode(byte[] data) {
+        return data == null ? EMPTY : decode(data, 0, data.length);
+    }
+
+    public static int[] decode(byte[] data, int from, int to) {
+        if (from >= to) {
+            return EMPTY;
+        }
+        int[] positions = new int[to - from];
+        int count = 0;
+        int position = 0;
+        int offset = from;
+        while (offset < to) {
+            int delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[offset++];
+                delta |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            position += delta;
+            positions[count++] = position;
+        }
+        return Arrays.copyOf(positions, count);
+    }
+}
@@ -0,0 +1,61 @@
+package searchengine.parsers;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import searchengine.config.Site;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlBudgetTest {
+    private final Site site = new Site();
+
+    @Test
+    void contentTypeIgnoresParametersAndCase() {
+        CrawlBudget crawlBudget = new CrawlBudget(site);
+
+        assertTrue(crawlBudget.allowsContentType("text/html"));
+        assertTrue(crawlBudget.allowsContentType("Text/HTML; charset=windows-1251"));
+        assertTrue(crawlBudget.allowsContentType("application/xhtml+xml"));
+        assertFalse(crawlBudget.allowsContentType("image/png"));
+        assertFalse(crawlBudget.allowsContentType("application/pdf; name=doc.pdf"));
+    }
+
+    @Test
+    void missingContentTypeIsAllowed() {
+        site.setContentTypes(List.of("text/html"));
+        CrawlBudget crawlBudget = new CrawlBudget(site);
+
+        assertTrue(crawlBudget.allowsContentType(null));
+        assertTrue(crawlBudget.allowsContentType(" "));
+    }
+
+    @Test
+    void downloadedBytesExhaustBudget() {
+        site.setMaxBytes(DataSize.ofBytes(1000));
+        CrawlBudget crawlBudget = new CrawlBudget(site);
+
+        crawlBudget.addBytes(400);
+        assertEquals(600L, crawlBudget.getRemainingBytes());
+        assertFalse(crawlBudget.isExhausted());
+
+        crawlBudget.addBytes(700);
+        assertEquals(0L, crawlBudget.getRemainingBytes());
+        assertTrue(crawlBudget.isExhausted());
+    }
+
+    @Test
+    void depthAndPageLimitsAreInclusive() {
+        site.setMaxDepth(2);
+        site.setMaxPages(10);
+        CrawlBudget crawlBudget = new CrawlBudget(site);
+
+        assertTrue(crawlBudget.allowsDepth(2));
+        assertFalse(crawlBudget.allowsDepth(3));
+        assertTrue(crawlBudget.allowsPages(10));
+        assertFalse(crawlBudget.allowsPages(11));
+    }
+}
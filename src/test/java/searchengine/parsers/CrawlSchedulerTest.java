@@ -0,0 +1,109 @@
+package searchengine.parsers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrawlSchedulerTest {
+    private static final String FAST_SITE = "http://fast.test";
+    private static final String SLOW_SITE = "http://slow.test";
+    private static final String UNLIMITED_SITE = "http://unlimited.test";
+
+    private final CrawlScheduler crawlScheduler = new CrawlScheduler(sitesList(
+            site(FAST_SITE, Duration.ZERO, 10, 2),
+            site(SLOW_SITE, Duration.ofMillis(100), 1, 10),
+            site(UNLIMITED_SITE, Duration.ZERO, 1, 10)));
+
+    @AfterEach
+    void shutdown() {
+        crawlScheduler.shutdown();
+    }
+
+    @Test
+    void permitsAboveMaxInFlightWaitForRelease() {
+        CompletableFuture<Void> first = crawlScheduler.acquire(FAST_SITE + "/1");
+        CompletableFuture<Void> second = crawlScheduler.acquire(FAST_SITE + "/2");
+        CompletableFuture<Void> third = crawlScheduler.acquire(FAST_SITE + "/3");
+
+        assertTrue(first.isDone() && second.isDone());
+        assertFalse(third.isDone());
+        crawlScheduler.release(FAST_SITE + "/1");
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    void crawlDelaySpacesPermitsWithoutBlockingCaller() throws Exception {
+        long start = System.nanoTime();
+        CompletableFuture<Void> first = crawlScheduler.acquire(SLOW_SITE + "/1");
+        CompletableFuture<Void> second = crawlScheduler.acquire(SLOW_SITE + "/2");
+        CompletableFuture<Void> third = crawlScheduler.acquire(SLOW_SITE + "/3");
+
+        assertTrue(first.isDone());
+        assertFalse(second.isDone());
+        third.get(5, TimeUnit.SECONDS);
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(190));
+    }
+
+    @Test
+    void hostsAreScheduledIndependently() {
+        crawlScheduler.acquire(FAST_SITE + "/1");
+        crawlScheduler.acquire(FAST_SITE + "/2");
+        assertFalse(crawlScheduler.acquire(FAST_SITE + "/3").isDone());
+
+        assertTrue(crawlScheduler.acquire(SLOW_SITE + "/1").isDone());
+        assertTrue(crawlScheduler.acquire("http://other.test/").isDone());
+    }
+
+    @Test
+    void robotsCrawlDelayRaisesConfiguredDelay() {
+        crawlScheduler.setMinCrawlDelay(UNLIMITED_SITE, Duration.ofSeconds(10));
+
+        assertTrue(crawlScheduler.acquire(UNLIMITED_SITE + "/1").isDone());
+        assertFalse(crawlScheduler.acquire(UNLIMITED_SITE + "/2").isDone());
+    }
+
+    @Test
+    void robotsCrawlDelayDoesNotLowerConfiguredDelay() {
+        crawlScheduler.setMinCrawlDelay(SLOW_SITE, Duration.ofNanos(1));
+
+        assertTrue(crawlScheduler.acquire(SLOW_SITE + "/1").isDone());
+        assertFalse(crawlScheduler.acquire(SLOW_SITE + "/2").isDone());
+    }
+
+    @Test
+    void cancelledPermitDoesNotTakeSlot() {
+        crawlScheduler.acquire(FAST_SITE + "/1");
+        crawlScheduler.acquire(FAST_SITE + "/2");
+        CompletableFuture<Void> cancelled = crawlScheduler.acquire(FAST_SITE + "/3");
+        CompletableFuture<Void> waiting = crawlScheduler.acquire(FAST_SITE + "/4");
+        cancelled.cancel(false);
+
+        crawlScheduler.release(FAST_SITE + "/1");
+
+        assertTrue(waiting.isDone() && !waiting.isCancelled());
+    }
+
+    private static SitesList sitesList(Site... sites) {
+        SitesList sitesList = new SitesList();
+        sitesList.setSites(List.of(sites));
+        return sitesList;
+    }
+
+    private static Site site(String url, Duration crawlDelay, int burst, int maxInFlight) {
+        Site site = new Site();
+        site.setUrl(url);
+        site.setCrawlDelay(crawlDelay);
+        site.setBurst(burst);
+        site.setMaxInFlight(maxInFlight);
+        return site;
+    }
+}
@@ -0,0 +1,135 @@
+package searchengine.parsers;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import searchengine.config.CrawlerSettings;
+import searchengine.dto.statistics.PageValidator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class HttpPageFetcherTest {
+    private static final int CHUNK_SIZE = 1000;
+    private static final byte[] PAGE = "<html><title>Главная</title></html>".getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+    private String rootUrl;
+    private final HttpPageFetcher pageFetcher = new HttpPageFetcher(new CrawlerSettings());
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/page", exchange -> {
+            exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+            exchange.sendResponseHeaders(200, PAGE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(PAGE);
+            }
+        });
+        server.createContext("/chunked", exchange -> {
+            int chunkCount = Integer.parseInt(exchange.getRequestURI().getQuery());
+            exchange.getResponseHeaders().add("Content-Type", "text/html");
+            exchange.sendResponseHeaders(200, 0);
+            try (OutputStream body = exchange.getResponseBody()) {
+                for (int i = 0; i < chunkCount; i++) {
+                    body.write(new byte[CHUNK_SIZE]);
+                    body.flush();
+                }
+            } catch (IOException ignored) {
+            }
+        });
+        server.start();
+        rootUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void fetchReturnsStatusHeadersAndBody() throws Exception {
+        HttpResponse<byte[]> response = pageFetcher.fetch(rootUrl + "/page", null).get();
+
+        assertEquals(200, response.statusCode());
+        assertEquals("text/html; charset=utf-8", response.headers().firstValue("Content-Type").orElse(null));
+        assertArrayEquals(PAGE, response.body());
+    }
+
+    @Test
+    void chunkedBodyWithinLimitIsRead() throws Exception {
+        HttpResponse<byte[]> response = pageFetcher.fetch(rootUrl + "/chunked?3", null, info -> 5 * CHUNK_SIZE).get();
+
+        assertEquals(200, response.statusCode());
+        assertEquals(3 * CHUNK_SIZE, response.body().length);
+    }
+
+    @Test
+    void chunkedBodyOverLimitIsDropped() throws Exception {
+        HttpResponse<byte[]> response = pageFetcher.fetch(rootUrl + "/chunked?100", null, info -> 5 * CHUNK_SIZE).get();
+
+        assertEquals(200, response.statusCode());
+        assertNull(response.body());
+    }
+
+    @Test
+    void negativeLimitSkipsBody() throws Exception {
+        HttpResponse<byte[]> response = pageFetcher.fetch(rootUrl + "/page", null, info -> -1).get();
+
+        assertEquals(200, response.statusCode());
+        assertNull(response.body());
+    }
+
+    @Test
+    void fetchSendsUserAgent() throws Exception {
+        String[] userAgent = new String[1];
+        server.createContext("/agent", exchange -> {
+            userAgent[0] = exchange.getRequestHeaders().getFirst("User-Agent");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+
+        assertEquals(204, pageFetcher.fetch(rootUrl + "/agent", null).get().statusCode());
+        assertTrue(userAgent[0] != null && !userAgent[0].isBlank());
+    }
+
+    @Test
+    void fetchSendsConditionalHeadersOfKnownPage() throws Exception {
+        String[] conditionalHeaders = new String[2];
+        server.createContext("/known", exchange -> {
+            conditionalHeaders[0] = exchange.getRequestHeaders().getFirst("If-None-Match");
+            conditionalHeaders[1] = exchange.getRequestHeaders().getFirst("If-Modified-Since");
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        });
+        PageValidator knownPage = mock(PageValidator.class);
+        when(knownPage.getEtag()).thenReturn("\"v1\"");
+        when(knownPage.getLastModified()).thenReturn("Wed, 21 Oct 2015 07:28:00 GMT");
+
+        assertEquals(304, pageFetcher.fetch(rootUrl + "/known", knownPage).get().statusCode());
+        assertArrayEquals(new String[]{"\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT"}, conditionalHeaders);
+    }
+
+    @Test
+    void invalidUrlFailsFuture() {
+        CompletableFuture<HttpResponse<byte[]>> response = pageFetcher.fetch("http://bad host/", null);
+
+        assertThrows(ExecutionException.class, response::get);
+    }
+}
@@ -0,0 +1,246 @@
+package searchengine.parsers;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searchengine.config.CrawlerSettings;
+import searchengine.config.Site;
+import searchengine.config.SitesList;
+import searchengine.dto.statistics.PageDto;
+import searchengine.dto.statistics.PageValidator;
+import searchengine.dto.statistics.ValidatorDto;
+import searchengine.model.Page;
+import searchengine.model.PageContent;
+import searchengine.repositories.PageContentRepository;
+import searchengine.utils.ContentCompressor;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PageUrlParserTest {
+    private static final int FETCH_CONCURRENCY = 4;
+    private static final long RESPONSE_DELAY_MS = 100;
+    private static final String STORED_ETAG = "\"v1\"";
+    private static final String ROTATED_ETAG = "\"v2\"";
+    private static final Map<String, String> PAGES = Map.of(
+            "/", "<a href=\"/a\">a</a><a href=\"/b\">b</a><a href=\"/c\">c</a><a href=\"/d\">d</a>",
+            "/a", "<a href=\"/\">home</a><a href=\"/a/1\">a1</a>",
+            "/b", "<a href=\"/b/1\">b1</a><a href=\"https://example.com/\">external</a>",
+            "/c", "<a href=\"/photo.jpg\">photo</a>",
+            "/d", "<a href=\"/missing\">missing</a>",
+            "/a/1", "<a href=\"/b/1\">b1</a>",
+            "/b/1", "<a href=\"/a\">a</a>");
+
+    @TempDir
+    Path checkpointDir;
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private ExecutorService parseExecutor;
+    private String rootUrl;
+    private final Site site = new Site();
+    private final List<String> requestedPaths = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/", this::handle);
+        serverExecutor = Executors.newFixedThreadPool(8);
+        server.setExecutor(serverExecutor);
+        server.start();
+        parseExecutor = Executors.newFixedThreadPool(4);
+        rootUrl = "http://127.0.0.1:" + server.getAddress().getPort();
+        site.setUrl(rootUrl);
+        site.setCrawlDelay(Duration.ZERO);
+        site.setBurst(PAGES.size());
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        serverExecutor.shutdownNow();
+        parseExecutor.shutdownNow();
+    }
+
+    @Test
+    void crawlFetchesEveryLinkedPageOnce() throws Exception {
+        List<PageDto> pageList = crawl(FETCH_CONCURRENCY);
+
+        Set<String> expectedPaths = new HashSet<>(PAGES.keySet());
+        expectedPaths.add("/missing");
+        assertEquals(expectedPaths, new HashSet<>(requestedPaths));
+        assertEquals(expectedPaths.size(), requestedPaths.size());
+        assertEquals(expectedPaths.stream().map(path -> rootUrl + path).collect(Collectors.toSet()),
+                pageList.stream().map(PageDto::url).collect(Collectors.toSet()));
+    }
+
+    @Test
+    void crawlStoresStatusOfBrokenLinks() throws Exception {
+        List<PageDto> pageList = crawl(FETCH_CONCURRENCY);
+
+        Map<String, Integer> codeMap = pageList.stream().collect(Collectors.toMap(PageDto::url, PageDto::code));
+        assertEquals(404, (int) codeMap.get(rootUrl + "/missing"));
+        assertEquals(200, (int) codeMap.get(rootUrl + "/d"));
+    }
+
+    @Test
+    void fetchConcurrencyDoesNotDependOnParseThreads() throws Exception {
+        parseExecutor.shutdownNow();
+        parseExecutor = Executors.newSingleThreadExecutor();
+
+        crawl(FETCH_CONCURRENCY);
+
+        assertEquals(FETCH_CONCURRENCY, maxInFlight.get());
+    }
+
+    @Test
+    void pagesOfSkippedContentTypeAreNotStored() throws Exception {
+        site.setContentTypes(List.of("application/xhtml+xml"));
+
+        List<PageDto> pageList = crawl(FETCH_CONCURRENCY);
+
+        assertTrue(pageList.isEmpty());
+        assertEquals(List.of("/"), requestedPaths);
+    }
+
+    @Test
+    void notModifiedPageFollowsStoredLinks() throws Exception {
+        PageContentRepository pageContentRepository = mock(PageContentRepository.class);
+        when(pageContentRepository.findById(1L)).thenReturn(Optional.of(new PageContent(new Page(),
+                ContentCompressor.compress("<html><body>" + PAGES.get("/") + "</body></html>"))));
+        KnownPages knownPages = new KnownPages(Map.of(rootUrl + "/", knownPage(1, "/", 200, STORED_ETAG)),
+                pageContentRepository);
+
+        List<PageDto> pageList = crawl(FETCH_CONCURRENCY, knownPages);
+
+        Set<String> urls = pageList.stream().map(PageDto::url).collect(Collectors.toSet());
+        assertFalse(urls.contains(rootUrl + "/"));
+        assertTrue(urls.containsAll(Set.of(rootUrl + "/a", rootUrl + "/b", rootUrl + "/a/1", rootUrl + "/missing")));
+    }
+
+    @Test
+    void rotatedEtagOfNotModifiedPageIsQueuedForUpdate() throws Exception {
+        KnownPages knownPages = new KnownPages(Map.of(rootUrl + "/", knownPage(1, "/", 200, STORED_ETAG),
+                rootUrl + "/a", knownPage(2, "/a", 200, ROTATED_ETAG)), mock(PageContentRepository.class));
+
+        crawl(FETCH_CONCURRENCY, knownPages);
+
+        assertEquals(List.of(new ValidatorDto(1, ROTATED_ETAG, null)), knownPages.pollChangedValidators());
+        assertTrue(knownPages.pollChangedValidators().isEmpty());
+    }
+
+    @Test
+    void incrementalCrawlRemovesVanishedKnownPages() throws Exception {
+        KnownPages knownPages = new KnownPages(Map.of(
+                rootUrl + "/a", knownPage(1, "/a", 200),
+                rootUrl + "/deleted", knownPage(2, "/deleted", 200),
+                rootUrl + "/broken", knownPage(3, "/broken", 404),
+                rootUrl + "/x/x/x/x", knownPage(4, "/x/x/x/x", 200)), mock(PageContentRepository.class));
+
+        List<PageDto> pageList = crawl(FETCH_CONCURRENCY, knownPages);
+
+        assertEquals(Set.of(2L, 4L), new HashSet<>(knownPages.getRemovedPageIds()));
+        Set<String> urls = pageList.stream().map(PageDto::url).collect(Collectors.toSet());
+        assertFalse(urls.contains(rootUrl + "/deleted"));
+        assertTrue(urls.contains(rootUrl + "/broken"));
+    }
+
+    private List<PageDto> crawl(int fetchConcurrency) throws Exception {
+        return crawl(fetchConcurrency, new KnownPages(Map.of(), mock(PageContentRepository.class)));
+    }
+
+    private List<PageDto> crawl(int fetchConcurrency, KnownPages knownPages) throws Exception {
+        site.setMaxInFlight(fetchConcurrency);
+        SitesList sitesList = new SitesList();
+        sitesList.setSites(List.of(site));
+        CrawlScheduler crawlScheduler = new CrawlScheduler(sitesList);
+        CrawlBudget crawlBudget = new CrawlBudget(site);
+        CrawlCheckpoint checkpoint = new CrawlCheckpoint(checkpointDir, rootUrl);
+        UrlFrontier frontier = new UrlFrontier(rootUrl + "/", RobotsRules.ALLOW_ALL, crawlBudget, checkpoint);
+        BlockingQueue<PageDto> pageQueue = new LinkedBlockingQueue<>();
+        PageUrlParser pageUrlParser = new PageUrlParser(pageQueue, frontier, crawlScheduler,
+                new HttpPageFetcher(new CrawlerSettings()), knownPages, crawlBudget, parseExecutor);
+        try {
+            List<String> seedUrls = new ArrayList<>();
+            seedUrls.add(frontier.add(rootUrl + "/", 0));
+            knownPages.getUrls().stream().map(url -> frontier.add(url, 0)).filter(Objects::nonNull)
+                    .forEach(seedUrls::add);
+            seedUrls.forEach(seedUrl -> pageUrlParser.submit(seedUrl, 0));
+            frontier.getDrained().get(30, TimeUnit.SECONDS);
+        } finally {
+            pageUrlParser.stop();
+            checkpoint.close();
+            crawlScheduler.shutdown();
+        }
+        return new ArrayList<>(pageQueue);
+    }
+
+    private static PageValidator knownPage(long id, String path, int code) {
+        return knownPage(id, path, code, null);
+    }
+
+    private static PageValidator knownPage(long id, String path, int code, String etag) {
+        PageValidator knownPage = mock(PageValidator.class);
+        when(knownPage.getEtag()).thenReturn(etag);
+        when(knownPage.getId()).thenReturn(id);
+        when(knownPage.getPath()).thenReturn(path);
+        when(knownPage.getCode()).thenReturn(code);
+        return knownPage;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        requestedPaths.add(path);
+        maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+        try {
+            Thread.sleep(RESPONSE_DELAY_MS);
+            String page = PAGES.get(path);
+            if (page != null && exchange.getRequestHeaders().containsKey("If-None-Match")) {
+                exchange.getResponseHeaders().add("ETag", ROTATED_ETAG);
+                exchange.sendResponseHeaders(304, -1);
+            } else if (page == null) {
+                exchange.sendResponseHeaders(404, -1);
+            } else {
+                byte[] body = ("<html><head><title>" + path + "</title></head><body>" + page + "</body></html>")
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package searchengine.parsers;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import searchengine.config.Site;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UrlFrontierTest {
+    private static final String ROOT_URL = "https://example.com/";
+
+    @TempDir
+    Path checkpointDir;
+    private CrawlCheckpoint checkpoint;
+    private final Site site = new Site();
+
+    @BeforeEach
+    void openCheckpoint() throws IOException {
+        checkpoint = new CrawlCheckpoint(checkpointDir, ROOT_URL);
+        site.setUrl(ROOT_URL);
+    }
+
+    @AfterEach
+    void closeCheckpoint() {
+        checkpoint.close();
+    }
+
+    @Test
+    void normalizeLowercasesSchemeAndHostAndDropsDefaultPort() {
+        assertEquals("https://example.com/Path", UrlFrontier.normalize("HTTPS://Example.COM:443/Path"));
+        assertEquals("http://example.com/", UrlFrontier.normalize("http://example.com:80"));
+        assertEquals("http://example.com:8080/", UrlFrontier.normalize("http://example.com:8080/"));
+    }
+
+    @Test
+    void normalizeDropsFragmentAndDotSegments() {
+        assertEquals("https://example.com/b/c", UrlFrontier.normalize("https://example.com/a/../b/./c#top"));
+    }
+
+    @Test
+    void normalizeSortsQueryAndDropsTrackingParameters() {
+        assertEquals("https://example.com/list?a=1&b=2",
+                UrlFrontier.normalize("https://example.com/list?b=2&utm_source=mail&a=1&gclid=x&YCLID=y"));
+        assertEquals("https://example.com/list", UrlFrontier.normalize("https://example.com/list?utm_medium=cpc"));
+    }
+
+    @Test
+    void normalizeDropsSessionPathParameter() {
+        assertEquals("https://example.com/cart", UrlFrontier.normalize("https://example.com/cart;jsessionid=ABC123"));
+    }
+
+    @Test
+    void normalizeRejectsRelativeAndInvalidUrls() {
+        assertNull(UrlFrontier.normalize("/relative/path"));
+        assertNull(UrlFrontier.normalize("https://example.com/bad path"));
+    }
+
+    @Test
+    void addAcceptsCanonicalUrlOnce() {
+        UrlFrontier frontier = frontier();
+
+        assertEquals("https://example.com/a?x=1&y=2", frontier.add("https://EXAMPLE.com/a?y=2&x=1&utm_term=z", 0));
+        assertNull(frontier.add("https://example.com/a?x=1&y=2#part", 0));
+        assertEquals(1, frontier.getVisitedCount());
+    }
+
+    @Test
+    void addRejectsExternalUrlsAndTraps() {
+        UrlFrontier frontier = frontier();
+
+        assertNull(frontier.add("https://other.com/", 0));
+        assertNull(frontier.add("https://example.com/a/a/a/a", 0));
+        assertNull(frontier.add("https://example.com/" + "a".repeat(600), 0));
+    }
+
+    @Test
+    void addRespectsDepthAndPageBudget() {
+        site.setMaxDepth(1);
+        site.setMaxPages(2);
+        UrlFrontier frontier = frontier();
+
+        assertNull(frontier.add("https://example.com/deep", 2));
+        assertEquals("https://example.com/1", frontier.add("https://example.com/1", 1));
+        assertEquals("https://example.com/2", frontier.add("https://example.com/2", 1));
+        assertNull(frontier.add("https://example.com/3", 1));
+    }
+
+    @Test
+    void restoredUrlsAreNotAddedAgain() {
+        UrlFrontier frontier = frontier();
+        frontier.restore(List.of("https://example.com/done"));
+
+        assertNull(frontier.add("https://example.com/done", 0));
+    }
+
+    private UrlFrontier frontier() {
+        return new UrlFrontier(ROOT_URL, RobotsRules.ALLOW_ALL, new CrawlBudget(site), checkpoint);
+    }
+}
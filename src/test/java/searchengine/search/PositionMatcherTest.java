@@ -0,0 +1,43 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PositionMatcherTest {
+
+    @Test
+    void findsPhraseAtAnyOccurrence() {
+        int[][] positions = {{3, 10, 40}, {11, 30}, {12}};
+
+        assertTrue(PositionMatcher.containsPhrase(positions, List.of(0, 1, 2)));
+        assertFalse(PositionMatcher.containsPhrase(positions, List.of(0, 2, 3)));
+    }
+
+    @Test
+    void phraseWithRepeatedLemmaNeedsBothPositions() {
+        assertTrue(PositionMatcher.containsPhrase(new int[][]{{4, 5}, {4, 5}}, List.of(0, 1)));
+        assertFalse(PositionMatcher.containsPhrase(new int[][]{{4, 9}, {4, 9}}, List.of(0, 1)));
+    }
+
+    @Test
+    void proximityFactorGrowsAsWordsGetCloser() {
+        float adjacent = PositionMatcher.proximityFactor(new int[][]{{1, 50}, {51}});
+        float near = PositionMatcher.proximityFactor(new int[][]{{1, 50}, {53}});
+        float far = PositionMatcher.proximityFactor(new int[][]{{1}, {500}});
+
+        assertEquals(1.5F, adjacent);
+        assertEquals(1 + 0.5F / 3, near, 1e-6F);
+        assertTrue(adjacent > near && near > far && far > 1);
+    }
+
+    @Test
+    void proximityFactorIsNeutralWithoutPositions() {
+        assertEquals(1F, PositionMatcher.proximityFactor(new int[][]{{1, 2}}));
+        assertEquals(1F, PositionMatcher.proximityFactor(new int[][]{{1, 2}, {}}));
+    }
+}
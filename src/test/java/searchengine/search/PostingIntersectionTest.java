@@ -0,0 +1,107 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.PositionCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingIntersectionTest {
+
+    @Test
+    void intersectsLongListWithSingleMatch() {
+        List<Long> longList = new ArrayList<>(List.of(1L));
+        LongStream.iterate(1003, pageId -> pageId <= 4000, pageId -> pageId + 3).forEach(longList::add);
+
+        assertEquals(List.of(3700L), intersect(longList, List.of(5L, 3700L, 3701L)));
+    }
+
+    @Test
+    void intersectsListsLongerThanSeveralSkipIntervalsWithIrregularGaps() {
+        Random random = new Random(7);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Long> first = randomPageIds(random, 2_000);
+            TreeSet<Long> second = randomPageIds(random, 300);
+            TreeSet<Long> expected = new TreeSet<>(first);
+            expected.retainAll(second);
+
+            assertEquals(new ArrayList<>(expected), intersect(new ArrayList<>(first), new ArrayList<>(second)));
+        }
+    }
+
+    @Test
+    void intersectsListsOfVeryDifferentLengths() {
+        List<Long> longList = LongStream.range(0, 100_000).boxed().toList();
+        List<Long> shortList = List.of(0L, 63L, 64L, 65L, 4_097L, 99_999L, 100_000L);
+
+        assertEquals(List.of(0L, 63L, 64L, 65L, 4_097L, 99_999L), intersect(longList, shortList));
+        assertEquals(List.of(0L, 63L, 64L, 65L, 4_097L, 99_999L), intersect(shortList, longList));
+    }
+
+    @Test
+    void intersectsThreeListsAndSumsRanks() {
+        List<Long> result = new ArrayList<>();
+        List<Float> scoreList = new ArrayList<>();
+        PostingIntersection.intersect(List.of(
+                        postingList("первый", LongStream.range(0, 5_000).boxed().toList()),
+                        postingList("второй", LongStream.iterate(0, id -> id < 5_000, id -> id + 7).boxed().toList()),
+                        postingList("третий", LongStream.iterate(0, id -> id < 5_000, id -> id + 11).boxed().toList())),
+                (pageId, score) -> {
+                    result.add(pageId);
+                    scoreList.add(score);
+                });
+
+        assertEquals(LongStream.iterate(0, id -> id < 5_000, id -> id + 77).boxed().toList(), result);
+        assertTrue(scoreList.stream().allMatch(score -> score == 3));
+    }
+
+    @Test
+    void emptyListProducesNoMatches() {
+        assertEquals(List.of(), intersect(List.of(), List.of(1L, 2L, 3L)));
+    }
+
+    @Test
+    void matchPassesCursorsInQueryOrder() {
+        PostingList first = postingList("первый", LongStream.range(0, 1_000).boxed().toList());
+        PostingList second = postingList("второй", List.of(150L, 777L));
+        List<String> positionList = new ArrayList<>();
+        PostingIntersection.match(List.of(first, second), (pageId, score, cursors) -> {
+            assertEquals(pageId, cursors[0].pageId());
+            assertEquals(pageId, cursors[1].pageId());
+            positionList.add(cursors[0].decodePositions()[0] + ":" + cursors[1].decodePositions()[0]);
+        });
+
+        assertEquals(List.of("50:50", "77:77"), positionList);
+    }
+
+    static TreeSet<Long> randomPageIds(Random random, int count) {
+        TreeSet<Long> pageIds = new TreeSet<>();
+        long pageId = 0;
+        while (pageIds.size() < count) {
+            pageId += 1 + (random.nextInt(10) == 0 ? random.nextInt(5_000) : random.nextInt(20));
+            pageIds.add(pageId);
+        }
+        return pageIds;
+    }
+
+    static PostingList postingList(String lemma, List<Long> pageIdList) {
+        PostingList.Builder builder = new PostingList.Builder(lemma);
+        for (long pageId : pageIdList) {
+            builder.add(pageId, 1, PositionCodec.encode(List.of((int) (pageId % 100))));
+        }
+        return builder.build();
+    }
+
+    private static List<Long> intersect(List<Long> first, List<Long> second) {
+        List<Long> result = new ArrayList<>();
+        PostingIntersection.intersect(List.of(postingList("первый", first), postingList("второй", second)),
+                (pageId, score) -> result.add(pageId));
+        return result;
+    }
+}
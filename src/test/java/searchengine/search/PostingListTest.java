@@ -0,0 +1,122 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+import searchengine.utils.PositionCodec;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void advanceAcrossSkipIntervalsKeepsPageIdsAndPositions() {
+        List<Long> pageIdList = new ArrayList<>(List.of(1L));
+        for (long pageId = 1003; pageId <= 4000; pageId += 3) {
+            pageIdList.add(pageId);
+        }
+        PostingList.Builder builder = new PostingList.Builder("мама");
+        for (long pageId : pageIdList) {
+            builder.add(pageId, pageId, PositionCodec.encode(List.of((int) pageId % 7, (int) pageId % 7 + 5)));
+        }
+        PostingList postingList = builder.build();
+
+        for (long target : List.of(3700L, 1004L, 2500L, 3999L, 4000L)) {
+            PostingList.Cursor cursor = postingList.cursor();
+            assertTrue(cursor.advance(target));
+            long expected = pageIdList.stream().filter(pageId -> pageId >= target).findFirst().orElseThrow();
+            assertEquals(expected, cursor.pageId());
+            assertEquals(expected, cursor.rank());
+            int first = (int) expected % 7;
+            assertArrayEquals(new int[]{first, first + 5}, cursor.decodePositions());
+        }
+    }
+
+    @Test
+    void nextRoundTripsPageIdsRanksAndPositions() {
+        long[] pageIdArray = {0, 1, 127, 128, 16_383, 16_384, 2_097_152, 1L << 35, (1L << 35) + 1, Long.MAX_VALUE};
+        PostingList.Builder builder = new PostingList.Builder("мама");
+        for (int i = 0; i < pageIdArray.length; i++) {
+            builder.add(pageIdArray[i], i / 2F, i % 3 == 0 ? null : PositionCodec.encode(List.of(i, i + 200)));
+        }
+        PostingList postingList = builder.build();
+
+        PostingList.Cursor cursor = postingList.cursor();
+        for (int i = 0; i < pageIdArray.length; i++) {
+            assertTrue(cursor.next());
+            assertEquals(pageIdArray[i], cursor.pageId());
+            assertEquals(i / 2F, cursor.rank());
+            assertEquals(i % 3 != 0, cursor.hasPositions());
+            assertArrayEquals(i % 3 == 0 ? new int[0] : new int[]{i, i + 200}, cursor.decodePositions());
+        }
+        assertFalse(cursor.next());
+        assertEquals(pageIdArray.length, postingList.size());
+    }
+
+    @Test
+    void advanceFindsEveryTargetAroundSkipBoundaries() {
+        PostingList postingList = evenPageIds(1_000);
+
+        for (long target = 0; target <= 2_000; target++) {
+            PostingList.Cursor cursor = postingList.cursor();
+            if (target > 1_998) {
+                assertFalse(cursor.advance(target));
+            } else {
+                assertTrue(cursor.advance(target));
+                assertEquals(target + target % 2, cursor.pageId());
+                assertEquals((float) (target + target % 2), cursor.rank());
+            }
+        }
+    }
+
+    @Test
+    void advanceContinuesFromCurrentPosition() {
+        PostingList postingList = evenPageIds(1_000);
+        PostingList.Cursor cursor = postingList.cursor();
+
+        for (long target : new long[]{3, 127, 128, 129, 1_000, 1_000, 1_281, 1_998}) {
+            assertTrue(cursor.advance(target));
+            assertEquals(target + target % 2, cursor.pageId());
+        }
+        assertFalse(cursor.next());
+        assertFalse(cursor.advance(2_000));
+    }
+
+    @Test
+    void mergedCursorKeepsSourcePositions() {
+        PostingList source = evenPageIds(200);
+        PostingList.Builder builder = new PostingList.Builder("мама");
+        PostingList.Cursor cursor = source.cursor();
+        while (cursor.next()) {
+            if (cursor.pageId() % 3 == 0) {
+                builder.add(cursor);
+            }
+        }
+        PostingList merged = builder.build();
+
+        PostingList.Cursor mergedCursor = merged.cursor();
+        assertTrue(mergedCursor.advance(301));
+        assertEquals(306, mergedCursor.pageId());
+        assertArrayEquals(new int[]{306 % 50}, mergedCursor.decodePositions());
+    }
+
+    @Test
+    void builderRejectsPageIdsOutOfOrder() {
+        PostingList.Builder builder = new PostingList.Builder("мама").add(5, 1, null);
+
+        assertThrows(IllegalArgumentException.class, () -> builder.add(5, 1, null));
+    }
+
+    private static PostingList evenPageIds(int count) {
+        PostingList.Builder builder = new PostingList.Builder("мама");
+        for (long pageId = 0; pageId < count * 2L; pageId += 2) {
+            builder.add(pageId, pageId, PositionCodec.encode(List.of((int) (pageId % 50))));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,36 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoredPageMergerTest {
+    private static final SiteHits FIRST_SITE = new SiteHits(List.of(
+            new ScoredPage(1, 8), new ScoredPage(2, 4), new ScoredPage(3, 2)), 3, 8);
+    private static final SiteHits SECOND_SITE = new SiteHits(List.of(
+            new ScoredPage(10, 6), new ScoredPage(11, 4), new ScoredPage(12, 1)), 30, 6);
+
+    @Test
+    void mergesSitesByRelevanceAndNormalizesByMaxScore() {
+        assertEquals(List.of(new ScoredPage(1, 1), new ScoredPage(10, 0.75F), new ScoredPage(2, 0.5F),
+                        new ScoredPage(11, 0.5F), new ScoredPage(3, 0.25F), new ScoredPage(12, 0.125F)),
+                ScoredPageMerger.merge(List.of(SECOND_SITE, FIRST_SITE), 0, 10));
+    }
+
+    @Test
+    void returnsRequestedWindow() {
+        assertEquals(List.of(new ScoredPage(2, 0.5F), new ScoredPage(11, 0.5F)),
+                ScoredPageMerger.merge(List.of(FIRST_SITE, SECOND_SITE), 2, 2));
+        assertEquals(List.of(), ScoredPageMerger.merge(List.of(FIRST_SITE, SECOND_SITE), 6, 2));
+    }
+
+    @Test
+    void skipsSitesWithoutPages() {
+        SiteHits emptySite = new SiteHits(List.of(), 0, 0);
+
+        assertEquals(List.of(new ScoredPage(1, 1)), ScoredPageMerger.merge(List.of(emptySite, FIRST_SITE), 0, 1));
+        assertEquals(List.of(), ScoredPageMerger.merge(List.of(emptySite), 0, 10));
+    }
+}
@@ -0,0 +1,64 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+import searchengine.dto.statistics.TokenSpan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SnippetBuilderTest {
+    private static final Pattern WORD = Pattern.compile("[а-яё]+", Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+
+    @Test
+    void highlightsMatchedWordsAndMergesNeighbours() {
+        String content = "Купить новый смартфон недорого";
+
+        assertEquals("<b>новый смартфон</b> недорого...",
+                SnippetBuilder.build(content, tokenSpans(content), List.of("новый", "смартфон")));
+    }
+
+    @Test
+    void splitsDistantMatchesIntoFragments() {
+        String content = "Мама мыла раму. " + "Длинный текст без совпадений. ".repeat(5) + "Раму мыла мама.";
+
+        String snippet = SnippetBuilder.build(content, tokenSpans(content), List.of("мама"));
+
+        assertTrue(snippet.startsWith("<b>Мама</b> мыла раму."));
+        assertTrue(snippet.contains("...<b>мама</b>"));
+    }
+
+    @Test
+    void returnsEmptySnippetWhenQueryLemmaIsMissing() {
+        String content = "Купить новый смартфон";
+
+        assertEquals("", SnippetBuilder.build(content, tokenSpans(content), List.of("смартфон", "планшет")));
+    }
+
+    @Test
+    void fallbackCutsTextAtWordBoundary() {
+        String text = "слово ".repeat(100);
+
+        String fallback = SnippetBuilder.fallback(text);
+
+        assertTrue(fallback.length() <= 203);
+        assertTrue(fallback.endsWith("слово..."));
+        assertEquals("короткий текст", SnippetBuilder.fallback("  короткий текст "));
+        assertEquals("", SnippetBuilder.fallback(null));
+    }
+
+    private static List<TokenSpan> tokenSpans(String content) {
+        List<TokenSpan> tokenSpanList = new ArrayList<>();
+        Matcher matcher = WORD.matcher(content);
+        while (matcher.find()) {
+            tokenSpanList.add(new TokenSpan(matcher.start(), matcher.end(),
+                    List.of(matcher.group().toLowerCase(Locale.ROOT))));
+        }
+        return tokenSpanList;
+    }
+}
@@ -0,0 +1,50 @@
+package searchengine.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TopPageCollectorTest {
+
+    @Test
+    void keepsHighestScoresInRelevanceOrder() {
+        Random random = new Random(3);
+        List<ScoredPage> allPages = new ArrayList<>();
+        TopPageCollector collector = new TopPageCollector(25);
+        for (long pageId = 0; pageId < 10_000; pageId++) {
+            float score = random.nextInt(500);
+            allPages.add(new ScoredPage(pageId, score));
+            collector.collect(pageId, score);
+        }
+        allPages.sort(ScoredPage.BY_RELEVANCE);
+
+        assertEquals(10_000, collector.getTotalHits());
+        assertEquals(allPages.subList(0, 25), collector.getWindow(0));
+        assertEquals(allPages.subList(20, 25), collector.getWindow(20));
+        assertEquals(List.of(), collector.getWindow(25));
+    }
+
+    @Test
+    void prefersSmallerPageIdOnEqualScore() {
+        TopPageCollector collector = new TopPageCollector(2);
+        collector.collect(30, 1);
+        collector.collect(10, 1);
+        collector.collect(20, 1);
+
+        assertEquals(List.of(new ScoredPage(10, 1), new ScoredPage(20, 1)), collector.getWindow(0));
+    }
+
+    @Test
+    void zeroCapacityOnlyCountsHits() {
+        TopPageCollector collector = new TopPageCollector(0);
+        collector.collect(1, 1);
+        collector.collect(2, 2);
+
+        assertEquals(2, collector.getTotalHits());
+        assertEquals(List.of(), collector.getWindow(0));
+    }
+}
@@ -0,0 +1,58 @@
+package searchengine.utils;
+
+import org.junit.jupiter.api.Test;
+import searchengine.dto.statistics.HtmlDto;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HtmlExtractorTest {
+    private static final String BASE_URL = "https://example.com/catalog/";
+
+    @Test
+    void titleIsTakenFromFirstTitleOnly() {
+        HtmlDto htmlDto = HtmlExtractor.extract("<html><head><title>Каталог</title></head>"
+                + "<body><title>Лишний</title><p>Текст</p></body></html>", BASE_URL);
+
+        assertEquals("Каталог", htmlDto.title());
+        assertEquals("Текст", htmlDto.text());
+    }
+
+    @Test
+    void svgTitleIsNotPageTitle() {
+        HtmlDto htmlDto = HtmlExtractor.extract("<html><body><svg><title>Иконка</title></svg><svg/>"
+                + "<title>Каталог</title><p>Текст</p></body></html>", BASE_URL);
+
+        assertEquals("Каталог", htmlDto.title());
+    }
+
+    @Test
+    void textSkipsHeadAndScripts() {
+        HtmlDto htmlDto = HtmlExtractor.extract("<html><head><title>Т</title><style>p {}</style></head>"
+                + "<body><p>Первый&nbsp;абзац</p><script>var a = 1;</script><div>Второй</div></body></html>", BASE_URL);
+
+        assertEquals("Первый абзац Второй", htmlDto.text());
+    }
+
+    @Test
+    void linksAreResolvedAgainstBase() {
+        HtmlDto htmlDto = HtmlExtractor.extract("<a href=\"/root\">1</a><a href=\"item?id=1&amp;p=2\">2</a>"
+                + "<a href=\"https://other.com/\">3</a><a href=\"\">4</a>", BASE_URL);
+
+        assertEquals(List.of("https://example.com/root", "https://example.com/catalog/item?id=1&p=2",
+                "https://other.com/"), htmlDto.linkList());
+    }
+
+    @Test
+    void charsetIsSniffedFromMetaWhenHeaderIsMissing() {
+        Charset windows1251 = Charset.forName("windows-1251");
+        byte[] body = "<meta charset=\"windows-1251\"><title>Каталог</title>".getBytes(windows1251);
+
+        assertEquals(windows1251, HtmlExtractor.detectCharset(body, null));
+        assertEquals(StandardCharsets.UTF_8, HtmlExtractor.detectCharset(body, "utf-8"));
+        assertEquals("Каталог", HtmlExtractor.extract(body, null, BASE_URL).title());
+    }
+}